@@ -0,0 +1,180 @@
+package com.mulesoft.tools.maven;
+
+import com.mulesoft.tools.maven.config.DependencyFilter;
+import com.mulesoft.tools.maven.config.SlimmingConfiguration;
+import com.mulesoft.tools.maven.config.SlimmingProfile;
+import com.mulesoft.tools.maven.utils.ClassLoadTrace;
+import com.mulesoft.tools.maven.utils.DependencyAnalyzer;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.collection.DependencyCollectionException;
+import org.eclipse.aether.repository.RemoteRepository;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Configuration and dependency analysis shared by the goals that work on the slimmed dependency set.
+ */
+public abstract class AbstractSlimmerMojo extends AbstractMojo {
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    protected MavenProject project;
+
+    @Component
+    private RepositorySystem repositorySystem;
+
+    @Parameter(defaultValue = "${repositorySystemSession}", readonly = true)
+    private RepositorySystemSession repositorySession;
+
+    @Parameter(defaultValue = "${project.remoteProjectRepositories}", readonly = true)
+    private List<RemoteRepository> remoteRepositories;
+
+    @Parameter
+    private List<DependencyFilter> includes = new ArrayList<>();
+
+    @Parameter
+    private List<DependencyFilter> excludes = new ArrayList<>();
+
+    @Parameter(property = "slim.profile")
+    private String profile;
+
+    @Parameter(property = "slim.enabled", defaultValue = "true")
+    protected boolean enabled;
+
+    @Parameter(property = "slim.verbose", defaultValue = "false")
+    protected boolean verbose;
+
+    @Parameter(property = "slim.collectionThreads", defaultValue = "0")
+    private int collectionThreads;
+
+    @Parameter(property = "slim.classLoadTrace")
+    private File classLoadTrace;
+
+    @Parameter(property = "slim.applyTraceExclusions", defaultValue = "false")
+    private boolean applyTraceExclusions;
+
+    @Parameter
+    private List<DependencyFilter> traceKeeps = new ArrayList<>();
+
+    protected SlimmingConfiguration initializeConfiguration() throws MojoExecutionException {
+        SlimmingConfiguration config = new SlimmingConfiguration();
+        config.setIncludes(includes);
+        config.setExcludes(excludes);
+
+        // Apply predefined profile if specified
+        if (profile != null && !profile.trim().isEmpty()) {
+            SlimmingProfile profileConfig = SlimmingProfile.getProfile(profile);
+            if (profileConfig == null) {
+                throw new MojoExecutionException("Unknown slimming profile: " + profile);
+            }
+            config = profileConfig.applyTo(config);
+            getLog().info("Applied slimming profile: " + profile);
+        }
+
+        // Validate configuration
+        if (config.getExcludes().isEmpty() && config.getIncludes().isEmpty()) {
+            getLog().warn("No includes or excludes configured. No slimming will be performed.");
+        }
+
+        return config;
+    }
+
+    /**
+     * Computes the dependencies removed by slimming: the configured filters with their transitives,
+     * plus the class-load trace results when a trace is configured.
+     */
+    protected Set<Artifact> analyzeExclusions(SlimmingConfiguration config)
+            throws MojoExecutionException, DependencyCollectionException {
+        DependencyAnalyzer analyzer = new DependencyAnalyzer(
+            project, repositorySystem, repositorySession, remoteRepositories, getLog(), verbose,
+            collectionThreads > 0 ? collectionThreads : Runtime.getRuntime().availableProcessors());
+
+        Set<Artifact> dependenciesToExclude = analyzer.analyzeDependencies(config);
+        if (classLoadTrace != null) {
+            dependenciesToExclude = applyClassLoadTrace(analyzer, config, dependenciesToExclude);
+        }
+
+        if (verbose) {
+            getLog().info("=== Dependency Analysis Results ===");
+            getLog().info("Total project dependencies: " + project.getArtifacts().size());
+            getLog().info("Dependencies to exclude: " + dependenciesToExclude.size());
+            for (Artifact dep : dependenciesToExclude) {
+                getLog().info("  - " + dep.getGroupId() + ":" + dep.getArtifactId() + ":" + dep.getVersion());
+            }
+        }
+        return dependenciesToExclude;
+    }
+
+    private Set<Artifact> applyClassLoadTrace(DependencyAnalyzer analyzer, SlimmingConfiguration config,
+                                              Set<Artifact> dependenciesToExclude) throws MojoExecutionException {
+        if (!classLoadTrace.isFile()) {
+            throw new MojoExecutionException("Class-load trace not found: " + classLoadTrace);
+        }
+
+        Set<String> loadedClasses;
+        try {
+            loadedClasses = ClassLoadTrace.read(classLoadTrace);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not read class-load trace " + classLoadTrace, e);
+        }
+        if (loadedClasses.isEmpty()) {
+            throw new MojoExecutionException("No loaded classes found in class-load trace " + classLoadTrace);
+        }
+        getLog().info("Read " + loadedClasses.size() + " loaded classes from " + classLoadTrace.getName());
+
+        // Explicit includes always win over trace results
+        List<DependencyFilter> keeps = new ArrayList<>(traceKeeps);
+        keeps.addAll(config.getIncludes());
+
+        Set<Artifact> unused = analyzer.findUnusedDependencies(loadedClasses, keeps);
+        unused.removeAll(dependenciesToExclude);
+        if (unused.isEmpty()) {
+            getLog().info("Every remaining dependency was loaded during the trace");
+            return dependenciesToExclude;
+        }
+
+        getLog().info((applyTraceExclusions ? "Excluding " : "Proposed exclusions: ") + unused.size()
+            + " dependencies never loaded during the trace:");
+        for (Artifact dep : unused) {
+            getLog().info("  - " + dep.getGroupId() + ":" + dep.getArtifactId() + ":" + dep.getVersion());
+        }
+        if (!applyTraceExclusions) {
+            getLog().info("Set slim.applyTraceExclusions=true to remove them, or add them to <traceKeeps> to keep them");
+            return dependenciesToExclude;
+        }
+
+        Set<Artifact> combined = new HashSet<>(dependenciesToExclude);
+        combined.addAll(unused);
+        return combined;
+    }
+
+    /**
+     * The runtime classpath left after slimming: the project's own classes followed by every
+     * resolved classpath dependency that is not excluded. Poms and other non-jar artifacts are left out.
+     */
+    protected List<File> getRetainedClasspath(Set<Artifact> dependenciesToExclude) {
+        List<File> classpath = new ArrayList<>();
+        File outputDirectory = new File(project.getBuild().getOutputDirectory());
+        if (outputDirectory.isDirectory()) {
+            classpath.add(outputDirectory);
+        }
+        for (Artifact artifact : project.getArtifacts()) {
+            if (!dependenciesToExclude.contains(artifact) && DependencyAnalyzer.isClasspathArtifact(artifact)
+                && artifact.getFile().isFile()) {
+                classpath.add(artifact.getFile());
+            }
+        }
+        return classpath;
+    }
+}
@@ -0,0 +1,367 @@
+package com.mulesoft.tools.maven;
+
+import com.mulesoft.tools.maven.config.SlimmingConfiguration;
+import com.mulesoft.tools.maven.utils.DependencyAnalyzer;
+import com.mulesoft.tools.maven.utils.JdkTools;
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.*;
+import org.apache.maven.project.MavenProjectHelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+/**
+ * Creates an AppCDS archive for the slimmed artifact. The application is started once with
+ * {@code -XX:ArchiveClassesAtExit} on the retained classpath, exercised by its own training
+ * arguments or until a readiness URL answers, and the dumped archive is validated with
+ * {@code -Xshare:on} before being attached to the project.
+ */
+@Mojo(
+    name = "cds-archive",
+    defaultPhase = LifecyclePhase.PACKAGE,
+    requiresDependencyResolution = ResolutionScope.RUNTIME
+)
+public class CdsArchiveMojo extends AbstractSlimmerMojo {
+
+    @Component
+    private MavenProjectHelper projectHelper;
+
+    @Parameter(property = "slim.jdkHome", defaultValue = "${java.home}")
+    private File jdkHome;
+
+    @Parameter(property = "slim.cds.mainClass")
+    private String mainClass;
+
+    @Parameter
+    private List<String> jvmArguments = new ArrayList<>();
+
+    @Parameter
+    private List<String> trainingArguments = new ArrayList<>();
+
+    @Parameter(property = "slim.cds.readinessUrl")
+    private String readinessUrl;
+
+    @Parameter(property = "slim.cds.trainingTimeout", defaultValue = "300")
+    private int trainingTimeout;
+
+    @Parameter(defaultValue = "${project.build.directory}/${project.build.finalName}-cds.jsa")
+    private File archiveFile;
+
+    @Parameter(defaultValue = "${project.build.directory}/${project.build.finalName}-lib")
+    private File libDirectory;
+
+    @Parameter(property = "slim.cds.attach", defaultValue = "true")
+    private boolean attach;
+
+    @Parameter(property = "slim.cds.classifier", defaultValue = "cds")
+    private String classifier;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (!enabled) {
+            getLog().info("Dependency slimming is disabled");
+            return;
+        }
+
+        File artifact = project.getArtifact().getFile();
+        if (artifact == null || !artifact.exists()) {
+            throw new MojoExecutionException("Project artifact not found: " + artifact);
+        }
+
+        boolean probeReadiness = readinessUrl != null && !readinessUrl.trim().isEmpty();
+        if (probeReadiness && System.getProperty("os.name").toLowerCase().startsWith("windows")) {
+            // Process.destroy() is TerminateProcess on Windows, which skips the JVM exit path that dumps the archive
+            throw new MojoExecutionException("readinessUrl requires a POSIX host; on Windows the training run"
+                + " must exit on its own (use trainingArguments to run a finite workload)");
+        }
+
+        try {
+            Launch launch = buildLaunch(artifact);
+            File workingDirectory = artifact.getParentFile();
+
+            FileUtils.forceMkdirParent(archiveFile);
+            FileUtils.deleteQuietly(archiveFile);
+            train(launch, workingDirectory);
+            if (!archiveFile.isFile()) {
+                throw new MojoExecutionException("The training run did not produce a CDS archive at " + archiveFile);
+            }
+            getLog().info("CDS archive written to " + archiveFile + " (" + FileUtils.byteCountToDisplaySize(archiveFile.length()) + ")");
+
+            validate(launch, workingDirectory);
+
+            if (attach) {
+                projectHelper.attachArtifact(project, "jsa", classifier, archiveFile);
+                getLog().info("Attached CDS archive with classifier '" + classifier + "'");
+            }
+        } catch (MojoExecutionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new MojoExecutionException("Error while creating the CDS archive", e);
+        }
+    }
+
+    /**
+     * Everything is launched from the artifact's directory with relative classpath entries, so the
+     * archive stays valid wherever that layout is deployed. An executable jar brings the files named
+     * in its manifest {@code Class-Path}; with a main class, the retained dependency jars are copied
+     * to {@code libDirectory} and follow the artifact on the classpath. Every entry must live below
+     * the artifact's directory.
+     */
+    private Launch buildLaunch(File artifact) throws Exception {
+        File baseDirectory = artifact.getParentFile();
+        List<String> layout = new ArrayList<>();
+        layout.add(artifact.getName());
+
+        if (mainClass == null || mainClass.trim().isEmpty()) {
+            checkNoNestedJars(artifact);
+            layout.addAll(getManifestClassPath(artifact));
+            return new Launch(artifact.getName(), null, layout);
+        }
+
+        // The directory is wiped on every run, so never let it point at anything but build output
+        File buildDirectory = new File(project.getBuild().getDirectory());
+        if (!libDirectory.getCanonicalPath().startsWith(buildDirectory.getCanonicalPath() + File.separator)) {
+            throw new MojoExecutionException("libDirectory " + libDirectory + " must be inside " + buildDirectory
+                + " because it is deleted and recreated on every run");
+        }
+        relativePath(baseDirectory, libDirectory);
+
+        SlimmingConfiguration config = initializeConfiguration();
+        Set<Artifact> dependenciesToExclude = analyzeExclusions(config);
+
+        FileUtils.deleteDirectory(libDirectory);
+        FileUtils.forceMkdir(libDirectory);
+        Set<String> names = new HashSet<>();
+        for (Artifact dependency : project.getArtifacts()) {
+            if (dependenciesToExclude.contains(dependency) || !DependencyAnalyzer.isClasspathArtifact(dependency)
+                || !dependency.getFile().isFile()) {
+                continue;
+            }
+            File file = dependency.getFile();
+            String name = names.add(file.getName()) ? file.getName() : dependency.getGroupId() + "-" + file.getName();
+            // copyFile keeps the modification time, which the archive records for every jar
+            File copy = new File(libDirectory, name);
+            FileUtils.copyFile(file, copy);
+            layout.add(relativePath(baseDirectory, copy));
+        }
+        getLog().info("Copied " + (layout.size() - 1) + " retained dependencies to " + libDirectory);
+
+        return new Launch(String.join(File.pathSeparator, layout), mainClass.trim(), layout);
+    }
+
+    /**
+     * Classes of jars nested in an executable jar (Spring Boot {@code BOOT-INF/lib}, for instance)
+     * are loaded by the application's own launcher, which CDS does not archive. Training on such a
+     * jar yields an archive of JDK and launcher classes only, and it would still validate.
+     */
+    private void checkNoNestedJars(File artifact) throws IOException, MojoExecutionException {
+        try (JarFile jar = new JarFile(artifact)) {
+            for (JarEntry entry : Collections.list(jar.entries())) {
+                String name = entry.getName();
+                if (name.endsWith(".jar") && (name.startsWith("lib/") || name.contains("/lib/"))) {
+                    throw new MojoExecutionException(artifact.getName() + " bundles nested jars such as " + name
+                        + ", whose classes CDS cannot archive when launched with -jar. Set mainClass to train"
+                        + " on the retained dependency jars copied to libDirectory instead");
+                }
+            }
+        }
+    }
+
+    private List<String> getManifestClassPath(File artifact) throws IOException, MojoExecutionException {
+        List<String> entries = new ArrayList<>();
+        try (JarFile jar = new JarFile(artifact)) {
+            Manifest manifest = jar.getManifest();
+            String classPath = manifest != null ? manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH) : null;
+            if (classPath == null) {
+                return entries;
+            }
+            for (String entry : classPath.trim().split("\\s+")) {
+                File file = new File(artifact.getParentFile(), entry);
+                if (file.isFile()) {
+                    relativePath(artifact.getParentFile(), file);
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * @throws MojoExecutionException if the file is not below the base directory, as the layout
+     * could then not be copied or deployed along with the artifact
+     */
+    private static String relativePath(File baseDirectory, File file) throws MojoExecutionException {
+        Path base = baseDirectory.toPath().toAbsolutePath().normalize();
+        Path path = file.toPath().toAbsolutePath().normalize();
+        if (!path.startsWith(base) || path.equals(base)) {
+            throw new MojoExecutionException(file + " is outside " + baseDirectory
+                + "; every CDS classpath entry must be inside the artifact's directory");
+        }
+        return base.relativize(path).toString();
+    }
+
+    private void train(Launch launch, File workingDirectory) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(JdkTools.findTool(jdkHome, "java").getAbsolutePath());
+        command.add("-XX:ArchiveClassesAtExit=" + archiveFile.getAbsolutePath());
+        command.addAll(jvmArguments);
+        command.addAll(launch.toArguments());
+        command.addAll(trainingArguments);
+
+        File trainingLog = new File(archiveFile.getParentFile(), archiveFile.getName() + ".training.log");
+        if (verbose) {
+            getLog().info("Training run: " + String.join(" ", command));
+        }
+        getLog().info("Starting training run, output in " + trainingLog);
+
+        Process process = new ProcessBuilder(command)
+            .directory(workingDirectory)
+            .redirectErrorStream(true)
+            .redirectOutput(trainingLog)
+            .start();
+        boolean probeReadiness = readinessUrl != null && !readinessUrl.trim().isEmpty();
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(trainingTimeout);
+            if (probeReadiness) {
+                awaitReadiness(process, deadline, trainingLog);
+                // A normal shutdown (SIGTERM) runs the JVM exit path that writes the archive
+                process.destroy();
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (!process.waitFor(Math.max(remaining, 0), TimeUnit.NANOSECONDS)) {
+                throw new MojoExecutionException("Training run did not finish within " + trainingTimeout
+                    + " seconds" + describeLog(trainingLog));
+            }
+            // A stopped application exits with a signal status, only a self-terminating run must succeed
+            if (process.exitValue() != 0 && !probeReadiness) {
+                throw new MojoExecutionException("Training run exited with status " + process.exitValue()
+                    + describeLog(trainingLog));
+            }
+        } finally {
+            if (process.isAlive()) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private void awaitReadiness(Process process, long deadline, File trainingLog) throws Exception {
+        URL url = new URL(readinessUrl);
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new MojoExecutionException("Application exited with status " + process.exitValue()
+                    + " before " + readinessUrl + " was ready" + describeLog(trainingLog));
+            }
+            if (isReady(url)) {
+                getLog().info("Application is ready at " + readinessUrl + ", stopping training run");
+                return;
+            }
+            Thread.sleep(1000);
+        }
+        throw new MojoExecutionException(readinessUrl + " did not become ready within " + trainingTimeout
+            + " seconds" + describeLog(trainingLog));
+    }
+
+    private boolean isReady(URL url) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setConnectTimeout(1000);
+            connection.setReadTimeout(1000);
+            try {
+                int status = connection.getResponseCode();
+                return status >= 200 && status < 300;
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Copies the artifact layout (keeping modification times) to a fresh directory and starts the
+     * JVM there with {@code -Xshare:on} on the same relative classpath. This fails if the archive
+     * cannot be mapped or does not match the jars once the layout has moved away from the build.
+     */
+    private void validate(Launch launch, File workingDirectory) throws Exception {
+        File relocated = Files.createTempDirectory("cds-validation-").toFile();
+        try {
+            for (String entry : launch.layout) {
+                FileUtils.copyFile(new File(workingDirectory, entry), new File(relocated, entry));
+            }
+
+            List<String> command = new ArrayList<>();
+            command.add(JdkTools.findTool(jdkHome, "java").getAbsolutePath());
+            command.add("-XX:SharedArchiveFile=" + archiveFile.getAbsolutePath());
+            command.add("-Xshare:on");
+            command.addAll(jvmArguments);
+            command.add("-cp");
+            command.add(launch.classpath);
+            command.add("-version");
+
+            try {
+                JdkTools.execute(command, relocated);
+            } catch (IOException e) {
+                throw new MojoExecutionException("The CDS archive is not valid for the relocated artifact layout: "
+                    + e.getMessage(), e);
+            }
+            getLog().info("CDS archive validated against a relocated copy of the artifact layout");
+        } finally {
+            FileUtils.deleteQuietly(relocated);
+        }
+    }
+
+    private String describeLog(File trainingLog) {
+        try {
+            List<String> lines = FileUtils.readLines(trainingLog, Charset.defaultCharset());
+            List<String> tail = lines.subList(Math.max(0, lines.size() - 20), lines.size());
+            return tail.isEmpty() ? "" : ":\n" + String.join("\n", tail);
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    private static class Launch {
+        private final String classpath;
+        private final String mainClass;
+        // Files the archive depends on, relative to the artifact's directory
+        private final List<String> layout;
+
+        Launch(String classpath, String mainClass, List<String> layout) {
+            this.classpath = classpath;
+            this.mainClass = mainClass;
+            this.layout = layout;
+        }
+
+        List<String> toArguments() {
+            List<String> arguments = new ArrayList<>();
+            if (mainClass == null) {
+                arguments.add("-jar");
+                arguments.add(classpath);
+            } else {
+                arguments.add("-cp");
+                arguments.add(classpath);
+                arguments.add(mainClass);
+            }
+            return arguments;
+        }
+    }
+}
@@ -1,21 +1,17 @@
 package com.mulesoft.tools.maven;
 
 import com.mulesoft.tools.maven.config.*;
+import com.mulesoft.tools.maven.utils.ArtifactCoordinates;
 import com.mulesoft.tools.maven.utils.JarProcessor;
-import com.mulesoft.tools.maven.utils.DependencyAnalyzer;
-import org.apache.maven.plugin.AbstractMojo;
+import com.mulesoft.tools.maven.utils.MavenSlimmingLog;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.*;
-import org.apache.maven.project.MavenProject;
 import org.apache.maven.artifact.Artifact;
-import org.eclipse.aether.RepositorySystem;
-import org.eclipse.aether.RepositorySystemSession;
-import org.eclipse.aether.repository.RemoteRepository;
 
 import java.io.File;
-import java.util.ArrayList;
-import java.util.List;
+import java.time.Instant;
+import java.util.HashSet;
 import java.util.Set;
 
 @Mojo(
@@ -23,25 +19,7 @@ import java.util.Set;
     defaultPhase = LifecyclePhase.PACKAGE,
     requiresDependencyResolution = ResolutionScope.RUNTIME
 )
-public class DependencySlimmerMojo extends AbstractMojo {
-
-    @Parameter(defaultValue = "${project}", readonly = true, required = true)
-    private MavenProject project;
-
-    @Component
-    private RepositorySystem repositorySystem;
-
-    @Parameter(defaultValue = "${repositorySystemSession}", readonly = true)
-    private RepositorySystemSession repositorySession;
-
-    @Parameter(defaultValue = "${project.remoteProjectRepositories}", readonly = true)
-    private List<RemoteRepository> remoteRepositories;
-
-    @Parameter
-    private List<DependencyFilter> includes = new ArrayList<>();
-
-    @Parameter
-    private List<DependencyFilter> excludes = new ArrayList<>();
+public class DependencySlimmerMojo extends AbstractSlimmerMojo {
 
     @Parameter(property = "slim.preserveManifest", defaultValue = "true")
     private boolean preserveManifest;
@@ -49,18 +27,15 @@ public class DependencySlimmerMojo extends AbstractMojo {
     @Parameter(property = "slim.removeEmptyDirectories", defaultValue = "true")
     private boolean removeEmptyDirectories;
 
-    @Parameter(property = "slim.profile")
-    private String profile;
-
-    @Parameter(property = "slim.enabled", defaultValue = "true")
-    private boolean enabled;
-
-    @Parameter(property = "slim.verbose", defaultValue = "false")
-    private boolean verbose;
-
     @Parameter(property = "slim.dryRun", defaultValue = "false")
     private boolean dryRun;
 
+    @Parameter(property = "slim.reproducible", defaultValue = "false")
+    private boolean reproducible;
+
+    @Parameter(defaultValue = "${project.build.outputTimestamp}")
+    private String outputTimestamp;
+
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
         if (!enabled) {
@@ -76,71 +51,49 @@ public class DependencySlimmerMojo extends AbstractMojo {
         try {
             // Initialize configuration
             SlimmingConfiguration config = initializeConfiguration();
+            config.setPreserveManifest(preserveManifest);
+            config.setRemoveEmptyDirectories(removeEmptyDirectories);
             
             // Analyze dependencies to build exclusion set
-            DependencyAnalyzer analyzer = new DependencyAnalyzer(
-                project, repositorySystem, repositorySession, remoteRepositories, getLog(), verbose);
-            
-            Set<Artifact> dependenciesToExclude = analyzer.analyzeDependencies(config);
-            
-            if (verbose) {
-                getLog().info("=== Dependency Analysis Results ===");
-                getLog().info("Total project dependencies: " + project.getArtifacts().size());
-                getLog().info("Dependencies to exclude: " + dependenciesToExclude.size());
-                for (Artifact dep : dependenciesToExclude) {
-                    getLog().info("  - " + dep.getGroupId() + ":" + dep.getArtifactId() + ":" + dep.getVersion());
-                }
-            }
+            Set<Artifact> dependenciesToExclude = analyzeExclusions(config);
             
             // Process the JAR file
-            JarProcessor processor = new JarProcessor(getLog(), verbose);
-            long originalSize = artifact.length();
-            
-            if (dryRun) {
-                getLog().info("DRY RUN: Would process " + artifact.getName());
-                processor.analyzeDependencies(artifact, dependenciesToExclude);
-            } else {
-                processor.processJar(artifact, dependenciesToExclude);
-                long newSize = artifact.length();
-                long saved = originalSize - newSize;
-                
-                getLog().info(String.format("Slimming complete! Reduced size by %s (%.1f%% reduction)",
-                    formatBytes(saved), (saved * 100.0 / originalSize)));
-            }
+            JarProcessor processor = new JarProcessor(
+                new MavenSlimmingLog(getLog()), verbose, resolveOutputTimestamp());
+            processor.slim(artifact, toCoordinates(dependenciesToExclude), dryRun);
             
         } catch (Exception e) {
             throw new MojoExecutionException("Error during dependency slimming", e);
         }
     }
 
-    private SlimmingConfiguration initializeConfiguration() throws MojoExecutionException {
-        SlimmingConfiguration config = new SlimmingConfiguration();
-        config.setIncludes(includes);
-        config.setExcludes(excludes);
-        config.setPreserveManifest(preserveManifest);
-        config.setRemoveEmptyDirectories(removeEmptyDirectories);
-
-        // Apply predefined profile if specified
-        if (profile != null && !profile.trim().isEmpty()) {
-            SlimmingProfile profileConfig = SlimmingProfile.getProfile(profile);
-            if (profileConfig == null) {
-                throw new MojoExecutionException("Unknown slimming profile: " + profile);
-            }
-            config = profileConfig.applyTo(config);
-            getLog().info("Applied slimming profile: " + profile);
+    private Set<ArtifactCoordinates> toCoordinates(Set<Artifact> artifacts) {
+        Set<ArtifactCoordinates> coordinates = new HashSet<>();
+        for (Artifact artifact : artifacts) {
+            coordinates.add(new ArtifactCoordinates(artifact.getGroupId(), artifact.getArtifactId(),
+                artifact.getVersion(), artifact.getClassifier(), artifact.getType()));
         }
+        return coordinates;
+    }
 
-        // Validate configuration
-        if (config.getExcludes().isEmpty() && config.getIncludes().isEmpty()) {
-            getLog().warn("No includes or excludes configured. No slimming will be performed.");
+    /**
+     * Returns the entry timestamp (epoch millis) for reproducible output, or null when the jar
+     * should be written normally. A single character value means "not set", as in maven-archiver.
+     */
+    private Long resolveOutputTimestamp() throws MojoExecutionException {
+        boolean hasOutputTimestamp = outputTimestamp != null && outputTimestamp.trim().length() > 1;
+        if (!hasOutputTimestamp) {
+            return reproducible ? JarProcessor.DEFAULT_OUTPUT_TIMESTAMP : null;
         }
 
-        return config;
-    }
-
-    private String formatBytes(long bytes) {
-        if (bytes < 1024) return bytes + " B";
-        if (bytes < 1024 * 1024) return String.format("%.1f KB", bytes / 1024.0);
-        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+        try {
+            long timestamp = JarProcessor.parseOutputTimestamp(outputTimestamp);
+            if (verbose) {
+                getLog().info("Writing reproducible artifact with entry timestamp " + Instant.ofEpochMilli(timestamp));
+            }
+            return timestamp;
+        } catch (IllegalArgumentException e) {
+            throw new MojoExecutionException("Invalid project.build.outputTimestamp: " + outputTimestamp, e);
+        }
     }
 }
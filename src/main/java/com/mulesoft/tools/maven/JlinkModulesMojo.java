@@ -0,0 +1,134 @@
+package com.mulesoft.tools.maven;
+
+import com.mulesoft.tools.maven.config.SlimmingConfiguration;
+import com.mulesoft.tools.maven.utils.JdkTools;
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Computes the JDK modules needed by the dependencies left after slimming, using {@code jdeps},
+ * and optionally builds a matching {@code jlink} runtime image.
+ */
+@Mojo(
+    name = "jlink-modules",
+    defaultPhase = LifecyclePhase.PACKAGE,
+    requiresDependencyResolution = ResolutionScope.RUNTIME
+)
+public class JlinkModulesMojo extends AbstractSlimmerMojo {
+    private static final Pattern MODULE_LIST = Pattern.compile("[\\w.]+(,[\\w.]+)*");
+    private static final String JDEPS_MAIN = "jdk.jdeps/com.sun.tools.jdeps.Main";
+
+    @Parameter(property = "slim.jdkHome", defaultValue = "${java.home}")
+    private File jdkHome;
+
+    @Parameter(property = "slim.multiRelease", defaultValue = "base")
+    private String multiRelease;
+
+    @Parameter
+    private List<String> additionalModules = new ArrayList<>();
+
+    @Parameter(defaultValue = "${project.build.directory}/${project.build.finalName}-jlink-modules.txt")
+    private File modulesFile;
+
+    @Parameter(property = "slim.buildRuntimeImage", defaultValue = "false")
+    private boolean buildRuntimeImage;
+
+    @Parameter(defaultValue = "${project.build.directory}/${project.build.finalName}-runtime")
+    private File runtimeImageDirectory;
+
+    @Parameter
+    private List<String> jlinkOptions = new ArrayList<>(
+        Arrays.asList("--strip-debug", "--no-header-files", "--no-man-pages"));
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (!enabled) {
+            getLog().info("Dependency slimming is disabled");
+            return;
+        }
+
+        try {
+            SlimmingConfiguration config = initializeConfiguration();
+            Set<Artifact> dependenciesToExclude = analyzeExclusions(config);
+            List<File> classpath = getRetainedClasspath(dependenciesToExclude);
+            if (classpath.isEmpty()) {
+                throw new MojoExecutionException("Nothing to analyze: no classes or retained dependencies found");
+            }
+
+            Set<String> modules = new TreeSet<>(findRequiredModules(classpath));
+            modules.addAll(additionalModules);
+            String moduleList = String.join(",", modules);
+
+            FileUtils.forceMkdirParent(modulesFile);
+            Files.write(modulesFile.toPath(), (moduleList + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+            getLog().info("Required JDK modules (" + modules.size() + "): --add-modules " + moduleList);
+            getLog().info("Module list written to " + modulesFile);
+
+            if (buildRuntimeImage) {
+                buildRuntimeImage(moduleList);
+            }
+        } catch (MojoExecutionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new MojoExecutionException("Error while computing the jlink module list", e);
+        }
+    }
+
+    private List<String> findRequiredModules(List<File> classpath) throws Exception {
+        // All retained entries are analyzed together, so references between them resolve without --class-path
+        List<String> args = new ArrayList<>(Arrays.asList(
+            "--print-module-deps", "--ignore-missing-deps", "--multi-release", multiRelease));
+        for (File entry : classpath) {
+            args.add(entry.getAbsolutePath());
+        }
+        if (verbose) {
+            getLog().info("Running jdeps over " + classpath.size() + " classpath entries");
+        }
+
+        String output = JdkTools.runModule(jdkHome, JDEPS_MAIN, args);
+        // The module list is the last line that looks like one; anything else is diagnostics
+        List<String> modules = new ArrayList<>();
+        String[] lines = output.split("\\R");
+        for (int i = lines.length - 1; i >= 0; i--) {
+            String line = lines[i].trim();
+            if (MODULE_LIST.matcher(line).matches()) {
+                modules.addAll(Arrays.asList(line.split(",")));
+                break;
+            }
+        }
+        if (modules.isEmpty()) {
+            // Everything depends on java.base, even when jdeps reports nothing
+            modules.add("java.base");
+        }
+        return modules;
+    }
+
+    private void buildRuntimeImage(String moduleList) throws Exception {
+        // jlink refuses to overwrite an existing image
+        FileUtils.deleteDirectory(runtimeImageDirectory);
+
+        List<String> args = new ArrayList<>(Arrays.asList(
+            "--add-modules", moduleList, "--output", runtimeImageDirectory.getAbsolutePath()));
+        args.addAll(jlinkOptions);
+
+        getLog().info("Building runtime image in " + runtimeImageDirectory);
+        String output = JdkTools.run(jdkHome, "jlink", args);
+        if (verbose && !output.trim().isEmpty()) {
+            getLog().info(output.trim());
+        }
+        getLog().info("Runtime image size: " + FileUtils.byteCountToDisplaySize(FileUtils.sizeOfDirectory(runtimeImageDirectory)));
+    }
+}
@@ -0,0 +1,59 @@
+package com.mulesoft.tools.maven.agent;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.Instrumentation;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Java agent that records every class loaded by the application and writes the names, one per
+ * line, when the JVM exits. The output can be passed to the {@code slim} goal as
+ * {@code classLoadTrace}:
+ *
+ * <pre>
+ * java -javaagent:dependency-slimmer-maven-plugin.jar=class-load-trace.txt -jar app.jar
+ * </pre>
+ */
+public class ClassLoadTraceAgent {
+    private static final String DEFAULT_OUTPUT = "class-load-trace.txt";
+
+    public static void premain(String args, Instrumentation instrumentation) {
+        String output = args != null && !args.trim().isEmpty() ? args.trim() : DEFAULT_OUTPUT;
+        Set<String> loadedClasses = ConcurrentHashMap.newKeySet();
+
+        for (Class<?> loaded : instrumentation.getAllLoadedClasses()) {
+            loadedClasses.add(loaded.getName());
+        }
+        instrumentation.addTransformer(new ClassFileTransformer() {
+            @Override
+            public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined,
+                                    ProtectionDomain protectionDomain, byte[] classfileBuffer) {
+                if (className != null) {
+                    loadedClasses.add(className.replace('/', '.'));
+                }
+                // Never modify the class
+                return null;
+            }
+        });
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> write(output, loadedClasses), "class-load-trace"));
+    }
+
+    private static void write(String output, Set<String> loadedClasses) {
+        List<String> names = new ArrayList<>(loadedClasses);
+        names.sort(null);
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(Paths.get(output), StandardCharsets.UTF_8))) {
+            names.forEach(writer::println);
+        } catch (IOException e) {
+            System.err.println("Could not write class-load trace to " + output + ": " + e.getMessage());
+        }
+    }
+}
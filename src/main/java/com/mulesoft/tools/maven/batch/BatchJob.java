@@ -0,0 +1,32 @@
+package com.mulesoft.tools.maven.batch;
+
+import com.mulesoft.tools.maven.utils.ArtifactCoordinates;
+
+import java.io.File;
+import java.util.Set;
+
+/**
+ * A single jar to slim. When no coordinates are given, they are discovered from the
+ * {@code pom.properties} of the nested jars.
+ */
+public class BatchJob {
+    private final File jar;
+    private final Set<ArtifactCoordinates> coordinates;
+
+    public BatchJob(File jar) {
+        this(jar, null);
+    }
+
+    public BatchJob(File jar, Set<ArtifactCoordinates> coordinates) {
+        this.jar = jar;
+        this.coordinates = coordinates;
+    }
+
+    public File getJar() {
+        return jar;
+    }
+
+    public Set<ArtifactCoordinates> getCoordinates() {
+        return coordinates;
+    }
+}
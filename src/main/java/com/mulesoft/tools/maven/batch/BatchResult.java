@@ -0,0 +1,45 @@
+package com.mulesoft.tools.maven.batch;
+
+import com.mulesoft.tools.maven.utils.ArtifactCoordinates;
+
+import java.util.Set;
+
+public class BatchResult {
+    private final BatchJob job;
+    private final Set<ArtifactCoordinates> excluded;
+    private final long originalSize;
+    private final long newSize;
+    private final Exception error;
+
+    BatchResult(BatchJob job, Set<ArtifactCoordinates> excluded, long originalSize, long newSize, Exception error) {
+        this.job = job;
+        this.excluded = excluded;
+        this.originalSize = originalSize;
+        this.newSize = newSize;
+        this.error = error;
+    }
+
+    public BatchJob getJob() {
+        return job;
+    }
+
+    public Set<ArtifactCoordinates> getExcluded() {
+        return excluded;
+    }
+
+    public long getOriginalSize() {
+        return originalSize;
+    }
+
+    public long getNewSize() {
+        return newSize;
+    }
+
+    public Exception getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
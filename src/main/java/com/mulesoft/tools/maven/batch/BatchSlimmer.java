@@ -0,0 +1,247 @@
+package com.mulesoft.tools.maven.batch;
+
+import com.mulesoft.tools.maven.config.DependencyFilter;
+import com.mulesoft.tools.maven.config.SlimmingConfiguration;
+import com.mulesoft.tools.maven.utils.ArtifactCoordinates;
+import com.mulesoft.tools.maven.utils.DependencyGraph;
+import com.mulesoft.tools.maven.utils.ExclusionAnalyzer;
+import com.mulesoft.tools.maven.utils.JarProcessor;
+import com.mulesoft.tools.maven.utils.SlimmingLog;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Slims many already-built jars outside of Maven. Jobs run concurrently on a bounded
+ * work-stealing pool; each job's report is buffered and written as one block, in the same
+ * format as the {@code slim} goal.
+ *
+ * <p>Without a repository the dependency graph comes from the poms bundled in the nested jars,
+ * so transitives are resolved only among the artifacts actually packaged in each jar.</p>
+ */
+public class BatchSlimmer {
+    private final SlimmingConfiguration config;
+    private final SlimmingLog log;
+    private final boolean verbose;
+    private final boolean dryRun;
+    private final Long outputTimestamp;
+    private final int parallelism;
+
+    public BatchSlimmer(SlimmingConfiguration config, SlimmingLog log, boolean verbose, boolean dryRun,
+                        Long outputTimestamp, int parallelism) {
+        this.config = config;
+        this.log = log;
+        this.verbose = verbose;
+        this.dryRun = dryRun;
+        this.outputTimestamp = outputTimestamp;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public List<BatchResult> run(List<BatchJob> jobs) throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<Future<BatchResult>> futures = new ArrayList<>();
+            for (BatchJob job : deduplicate(jobs)) {
+                futures.add(pool.submit(() -> process(job)));
+            }
+
+            List<BatchResult> results = new ArrayList<>();
+            for (Future<BatchResult> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    // process() reports its own failures, so this only happens on errors
+                    throw new IllegalStateException("Unexpected batch failure", e.getCause());
+                }
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Slimming rewrites a jar in place, so the same file must never be processed by two jobs.
+     * The first job for each canonical path wins.
+     */
+    private List<BatchJob> deduplicate(List<BatchJob> jobs) {
+        Map<String, BatchJob> unique = new LinkedHashMap<>();
+        for (BatchJob job : jobs) {
+            String path;
+            try {
+                path = job.getJar().getCanonicalPath();
+            } catch (IOException e) {
+                path = job.getJar().getAbsolutePath();
+            }
+            if (unique.putIfAbsent(path, job) != null) {
+                log.warn("Skipping duplicate job for " + path);
+            }
+        }
+        return new ArrayList<>(unique.values());
+    }
+
+    private BatchResult process(BatchJob job) {
+        BufferedLog jobLog = new BufferedLog();
+        long originalSize = job.getJar().length();
+        Set<ArtifactCoordinates> excluded = new HashSet<>();
+        Exception error = null;
+
+        jobLog.info("=== " + job.getJar().getPath() + " ===");
+        try {
+            NestedJarScanner scanner = new NestedJarScanner(jobLog);
+            Map<ArtifactCoordinates, Set<String>> graph = scanner.scan(job.getJar());
+            Set<ArtifactCoordinates> coordinates = job.getCoordinates() != null ? job.getCoordinates() : graph.keySet();
+
+            PackagedDependencyGraph dependencyGraph = new PackagedDependencyGraph(coordinates, graph);
+            excluded = new ExclusionAnalyzer<ArtifactCoordinates>(jobLog, verbose).analyze(dependencyGraph, config);
+            keepUnknownDependencies(dependencyGraph, excluded, scanner.getIncompleteArtifacts(), jobLog);
+            if (verbose) {
+                jobLog.info("=== Dependency Analysis Results ===");
+                jobLog.info("Total project dependencies: " + coordinates.size());
+                jobLog.info("Dependencies to exclude: " + excluded.size());
+                for (ArtifactCoordinates dep : excluded) {
+                    jobLog.info("  - " + dep);
+                }
+            }
+
+            new JarProcessor(jobLog, verbose, outputTimestamp).slim(job.getJar(), excluded, dryRun);
+        } catch (Exception e) {
+            jobLog.error("Error during dependency slimming of " + job.getJar(), e);
+            error = e;
+        }
+
+        jobLog.flushTo(log);
+        return new BatchResult(job, excluded, originalSize, job.getJar().length(), error);
+    }
+
+    /**
+     * With includes, anything not reachable from a kept artifact is dropped. When a kept artifact's
+     * own dependencies are unknown that closure is unreliable, so only artifacts matched by an
+     * exclude filter are removed.
+     */
+    private void keepUnknownDependencies(PackagedDependencyGraph graph, Set<ArtifactCoordinates> excluded,
+                                         Set<ArtifactCoordinates> incomplete, SlimmingLog jobLog) {
+        if (config.getIncludes().isEmpty()) {
+            return;
+        }
+        Set<ArtifactCoordinates> unknown = new LinkedHashSet<>();
+        for (ArtifactCoordinates artifact : graph.getDependencies()) {
+            if (!excluded.contains(artifact) && incomplete.contains(artifact)) {
+                unknown.add(artifact);
+            }
+        }
+        if (unknown.isEmpty()) {
+            return;
+        }
+        jobLog.warn("Dependencies of kept artifacts " + unknown + " are unknown; only artifacts matched by an"
+            + " exclude filter will be removed");
+        excluded.removeIf(artifact -> config.getExcludes().stream().noneMatch(filter -> graph.matches(artifact, filter)));
+    }
+
+    /**
+     * The artifacts of one jar, with transitives resolved from the poms bundled in its nested jars.
+     */
+    private static class PackagedDependencyGraph implements DependencyGraph<ArtifactCoordinates> {
+        private final Set<ArtifactCoordinates> dependencies;
+        private final Map<String, ArtifactCoordinates> byKey = new HashMap<>();
+        private final Map<String, Set<String>> edges = new HashMap<>();
+
+        PackagedDependencyGraph(Set<ArtifactCoordinates> dependencies, Map<ArtifactCoordinates, Set<String>> graph) {
+            this.dependencies = dependencies;
+            for (ArtifactCoordinates artifact : dependencies) {
+                byKey.put(versionlessKey(artifact), artifact);
+            }
+            for (Map.Entry<ArtifactCoordinates, Set<String>> node : graph.entrySet()) {
+                edges.put(versionlessKey(node.getKey()), node.getValue());
+            }
+        }
+
+        @Override
+        public Set<ArtifactCoordinates> getDependencies() {
+            return dependencies;
+        }
+
+        @Override
+        public boolean matches(ArtifactCoordinates artifact, DependencyFilter filter) {
+            return filter.matches(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion(), artifact.getType());
+        }
+
+        @Override
+        public Map<ArtifactCoordinates, Set<ArtifactCoordinates>> getTransitiveDependencies(Set<ArtifactCoordinates> roots) {
+            Map<ArtifactCoordinates, Set<ArtifactCoordinates>> transitives = new LinkedHashMap<>();
+            for (ArtifactCoordinates root : roots) {
+                transitives.put(root, collect(root));
+            }
+            return transitives;
+        }
+
+        private Set<ArtifactCoordinates> collect(ArtifactCoordinates root) {
+            Set<ArtifactCoordinates> closure = new HashSet<>();
+            Deque<ArtifactCoordinates> pending = new ArrayDeque<>();
+            pending.push(root);
+            while (!pending.isEmpty()) {
+                Set<String> dependencyKeys = edges.get(versionlessKey(pending.pop()));
+                if (dependencyKeys == null) {
+                    continue;
+                }
+                for (String key : dependencyKeys) {
+                    ArtifactCoordinates dependency = byKey.get(key);
+                    if (dependency != null && !dependency.equals(root) && closure.add(dependency)) {
+                        pending.push(dependency);
+                    }
+                }
+            }
+            return closure;
+        }
+
+        @Override
+        public String getKey(ArtifactCoordinates artifact) {
+            return artifact.toString();
+        }
+
+        private static String versionlessKey(ArtifactCoordinates artifact) {
+            return artifact.getGroupId() + ":" + artifact.getArtifactId();
+        }
+    }
+
+    /**
+     * Collects a job's messages so concurrent jobs don't interleave their reports.
+     */
+    private static class BufferedLog implements SlimmingLog {
+        private final List<Consumer<SlimmingLog>> messages = new ArrayList<>();
+
+        @Override
+        public void info(String message) {
+            messages.add(log -> log.info(message));
+        }
+
+        @Override
+        public void warn(String message) {
+            messages.add(log -> log.warn(message));
+        }
+
+        @Override
+        public void error(String message, Throwable error) {
+            messages.add(log -> log.error(message, error));
+        }
+
+        void flushTo(SlimmingLog log) {
+            synchronized (log) {
+                messages.forEach(message -> message.accept(log));
+            }
+        }
+    }
+}
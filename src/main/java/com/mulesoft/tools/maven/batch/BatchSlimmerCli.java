@@ -0,0 +1,229 @@
+package com.mulesoft.tools.maven.batch;
+
+import com.mulesoft.tools.maven.config.DependencyFilter;
+import com.mulesoft.tools.maven.config.SlimmingConfiguration;
+import com.mulesoft.tools.maven.config.SlimmingProfile;
+import com.mulesoft.tools.maven.utils.ArtifactCoordinates;
+import com.mulesoft.tools.maven.utils.JarProcessor;
+import com.mulesoft.tools.maven.utils.SlimmingLog;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Command-line entry point for {@link BatchSlimmer}.
+ *
+ * <pre>
+ * java -cp dependency-slimmer-maven-plugin.jar:commons-io.jar:commons-lang3.jar \
+ *     com.mulesoft.tools.maven.batch.BatchSlimmerCli [options] [jar...]
+ * </pre>
+ *
+ * A manifest lists one job per line: the jar path, optionally followed by a coordinates file
+ * (one {@code groupId:artifactId[:type[:classifier]]:version} per line, e.g. the output of
+ * {@code mvn dependency:list}). Paths are relative to the manifest. Blank lines and lines starting
+ * with {@code #} are ignored.
+ */
+public class BatchSlimmerCli {
+    private static final Pattern LOG_LEVEL_PREFIX = Pattern.compile("^\\[(INFO|WARNING|WARN|ERROR|DEBUG)\\]\\s*");
+    private static final String USAGE = String.join(System.lineSeparator(),
+        "Usage: BatchSlimmerCli [options] [jar...]",
+        "  --profile <name>            predefined slimming profile (" + String.join(", ", SlimmingProfile.getAvailableProfiles()) + ")",
+        "  --include <g:a[:v]>         dependency to keep, may be repeated",
+        "  --exclude <g:a[:v]>         dependency to remove, may be repeated",
+        "  --manifest <file>           file listing jars (and optional coordinates files) to slim",
+        "  --threads <n>               number of jars processed concurrently (default: available processors)",
+        "  --output-timestamp <ts>     write reproducible jars using this ISO-8601 or epoch-seconds timestamp",
+        "  --reproducible              write reproducible jars using the default timestamp",
+        "  --dry-run                   only report what would be removed",
+        "  --verbose                   enable verbose logging");
+
+    public static void main(String[] args) {
+        try {
+            System.exit(run(args));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+    }
+
+    static int run(String[] args) {
+        SlimmingConfiguration config = new SlimmingConfiguration();
+        List<BatchJob> jobs = new ArrayList<>();
+        String profile = null;
+        String manifest = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        Long outputTimestamp = null;
+        boolean dryRun = false;
+        boolean verbose = false;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--profile":
+                    profile = value(args, ++i, arg);
+                    break;
+                case "--include":
+                    config.getIncludes().add(parseFilter(value(args, ++i, arg)));
+                    break;
+                case "--exclude":
+                    config.getExcludes().add(parseFilter(value(args, ++i, arg)));
+                    break;
+                case "--manifest":
+                    manifest = value(args, ++i, arg);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(value(args, ++i, arg));
+                    break;
+                case "--output-timestamp":
+                    outputTimestamp = JarProcessor.parseOutputTimestamp(value(args, ++i, arg));
+                    break;
+                case "--reproducible":
+                    if (outputTimestamp == null) {
+                        outputTimestamp = JarProcessor.DEFAULT_OUTPUT_TIMESTAMP;
+                    }
+                    break;
+                case "--dry-run":
+                    dryRun = true;
+                    break;
+                case "--verbose":
+                    verbose = true;
+                    break;
+                default:
+                    if (arg.startsWith("--")) {
+                        throw new IllegalArgumentException("Unknown option: " + arg);
+                    }
+                    jobs.add(new BatchJob(new File(arg)));
+            }
+        }
+
+        SlimmingLog log = new ConsoleLog();
+        if (profile != null) {
+            SlimmingProfile profileConfig = SlimmingProfile.getProfile(profile);
+            if (profileConfig == null) {
+                throw new IllegalArgumentException("Unknown slimming profile: " + profile);
+            }
+            config = profileConfig.applyTo(config);
+            log.info("Applied slimming profile: " + profile);
+        }
+        if (manifest != null) {
+            jobs.addAll(readManifest(new File(manifest)));
+        }
+        if (jobs.isEmpty()) {
+            throw new IllegalArgumentException("No jars to process");
+        }
+        if (config.getExcludes().isEmpty() && config.getIncludes().isEmpty()) {
+            log.warn("No includes or excludes configured. No slimming will be performed.");
+        }
+
+        List<BatchResult> results;
+        try {
+            results = new BatchSlimmer(config, log, verbose, dryRun, outputTimestamp, threads).run(jobs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 1;
+        }
+
+        long failed = results.stream().filter(result -> !result.isSuccess()).count();
+        log.info(String.format("Processed %d jars, %d failed", results.size(), failed));
+        return failed == 0 ? 0 : 1;
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return args[index];
+    }
+
+    private static DependencyFilter parseFilter(String value) {
+        String[] parts = value.split(":");
+        if (parts.length < 1 || parts.length > 3) {
+            throw new IllegalArgumentException("Invalid dependency filter: " + value + " (expected groupId[:artifactId[:version]])");
+        }
+        DependencyFilter filter = new DependencyFilter();
+        filter.setGroupId(parts[0]);
+        filter.setArtifactId(parts.length > 1 ? parts[1] : null);
+        filter.setVersion(parts.length > 2 ? parts[2] : null);
+        return filter;
+    }
+
+    private static List<BatchJob> readManifest(File manifest) {
+        List<BatchJob> jobs = new ArrayList<>();
+        File baseDir = manifest.getAbsoluteFile().getParentFile();
+        for (String line : readLines(manifest)) {
+            String[] parts = line.split("\\s+");
+            File jar = resolve(baseDir, parts[0]);
+            if (parts.length > 1) {
+                jobs.add(new BatchJob(jar, readCoordinates(resolve(baseDir, parts[1]))));
+            } else {
+                jobs.add(new BatchJob(jar));
+            }
+        }
+        return jobs;
+    }
+
+    /**
+     * Reads a coordinates list. Console output of {@code mvn dependency:list} works too: log level
+     * prefixes are stripped and lines that are not coordinates are skipped.
+     */
+    private static Set<ArtifactCoordinates> readCoordinates(File file) {
+        Set<ArtifactCoordinates> coordinates = new HashSet<>();
+        for (String line : readLines(file)) {
+            String value = LOG_LEVEL_PREFIX.matcher(line).replaceFirst("");
+            try {
+                coordinates.add(ArtifactCoordinates.parse(value));
+            } catch (IllegalArgumentException e) {
+                // Headers, separators and build summary lines
+            }
+        }
+        return coordinates;
+    }
+
+    private static List<String> readLines(File file) {
+        try {
+            List<String> lines = new ArrayList<>();
+            for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+                String trimmed = line.trim();
+                if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                    lines.add(trimmed);
+                }
+            }
+            return lines;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static File resolve(File baseDir, String path) {
+        File file = new File(path);
+        return file.isAbsolute() ? file : new File(baseDir, path);
+    }
+
+    private static class ConsoleLog implements SlimmingLog {
+        @Override
+        public void info(String message) {
+            System.out.println("[INFO] " + message);
+        }
+
+        @Override
+        public void warn(String message) {
+            System.out.println("[WARNING] " + message);
+        }
+
+        @Override
+        public void error(String message, Throwable error) {
+            System.err.println("[ERROR] " + message);
+            if (error != null) {
+                error.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.mulesoft.tools.maven.batch;
+
+import com.mulesoft.tools.maven.utils.ArtifactCoordinates;
+import com.mulesoft.tools.maven.utils.SlimmingLog;
+import org.apache.commons.io.IOUtils;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarInputStream;
+
+/**
+ * Recovers the dependency graph of a packaged application without a Maven repository: every
+ * nested jar is identified from its {@code META-INF/maven/.../pom.properties} (or from a Mule
+ * {@code repository/} path), and its dependencies are read from the bundled {@code pom.xml}.
+ * Artifacts whose dependencies cannot be fully read are reported by {@link #getIncompleteArtifacts()}.
+ */
+class NestedJarScanner {
+    private static final String MAVEN_METADATA_PREFIX = "META-INF/maven/";
+    private static final String REPOSITORY_PREFIX = "repository/";
+
+    private final SlimmingLog log;
+    private final Set<ArtifactCoordinates> incompleteArtifacts = new LinkedHashSet<>();
+    private int inheritingArtifacts;
+
+    NestedJarScanner(SlimmingLog log) {
+        this.log = log;
+    }
+
+    /**
+     * @return every identified nested artifact mapped to the {@code groupId:artifactId} keys of its
+     * runtime dependencies
+     */
+    Map<ArtifactCoordinates, Set<String>> scan(File jar) throws IOException {
+        Map<ArtifactCoordinates, Set<String>> graph = new LinkedHashMap<>();
+
+        try (JarFile sourceJar = new JarFile(jar)) {
+            for (JarEntry entry : Collections.list(sourceJar.entries())) {
+                if (entry.isDirectory() || !entry.getName().endsWith(".jar")) {
+                    continue;
+                }
+                try (InputStream inputStream = sourceJar.getInputStream(entry)) {
+                    scanNestedJar(entry.getName(), inputStream, graph);
+                }
+            }
+        }
+        if (inheritingArtifacts > 0) {
+            log.warn(inheritingArtifacts + " nested artifacts inherit from parent poms that are not bundled;"
+                + " dependencies declared only in those parents are not visible");
+        }
+        return graph;
+    }
+
+    /**
+     * @return the scanned artifacts whose dependencies are unknown or only partially known, because
+     * their pom is missing, unreadable or uses placeholders that cannot be resolved offline
+     */
+    Set<ArtifactCoordinates> getIncompleteArtifacts() {
+        return incompleteArtifacts;
+    }
+
+    private void scanNestedJar(String entryName, InputStream inputStream,
+                               Map<ArtifactCoordinates, Set<String>> graph) throws IOException {
+        String fileName = entryName.substring(entryName.lastIndexOf('/') + 1);
+        Map<String, Properties> pomProperties = new TreeMap<>();
+        Map<String, byte[]> pomFiles = new TreeMap<>();
+
+        try (JarInputStream nestedJar = new JarInputStream(inputStream)) {
+            JarEntry nested;
+            while ((nested = nestedJar.getNextJarEntry()) != null) {
+                String name = nested.getName();
+                if (!name.startsWith(MAVEN_METADATA_PREFIX)) {
+                    continue;
+                }
+                String directory = name.substring(0, name.lastIndexOf('/') + 1);
+                if (name.endsWith("/pom.properties")) {
+                    Properties properties = new Properties();
+                    properties.load(nestedJar);
+                    pomProperties.put(directory, properties);
+                } else if (name.endsWith("/pom.xml")) {
+                    pomFiles.put(directory, IOUtils.toByteArray(nestedJar));
+                }
+            }
+        }
+
+        String selected = selectPom(entryName, fileName, pomProperties);
+        if (selected != null) {
+            Properties properties = pomProperties.get(selected);
+            ArtifactCoordinates coordinates = new ArtifactCoordinates(
+                properties.getProperty("groupId"), properties.getProperty("artifactId"),
+                properties.getProperty("version"), null, "jar");
+            graph.put(coordinates, readDependencies(coordinates, pomFiles.get(selected)));
+        } else {
+            ArtifactCoordinates coordinates = fromRepositoryPath(entryName);
+            if (coordinates != null) {
+                log.warn("No pom found for " + coordinates + " in " + entryName + "; its dependencies are unknown");
+                incompleteArtifacts.add(coordinates);
+                graph.put(coordinates, new HashSet<>());
+            }
+        }
+    }
+
+    /**
+     * Shaded jars carry several poms. Only a pom whose {@code artifactId-version} matches the jar
+     * file name identifies it; without a unique match the jar is left unidentified.
+     */
+    private String selectPom(String entryName, String fileName, Map<String, Properties> pomProperties) {
+        if (pomProperties.size() <= 1) {
+            return pomProperties.isEmpty() ? null : pomProperties.keySet().iterator().next();
+        }
+
+        List<String> matches = new ArrayList<>();
+        for (Map.Entry<String, Properties> candidate : pomProperties.entrySet()) {
+            String prefix = candidate.getValue().getProperty("artifactId") + "-"
+                + candidate.getValue().getProperty("version");
+            if (fileName.equals(prefix + ".jar") || fileName.startsWith(prefix + "-")) {
+                matches.add(candidate.getKey());
+            }
+        }
+        if (matches.size() == 1) {
+            return matches.get(0);
+        }
+        log.warn("Skipping " + entryName + ": none of its " + pomProperties.size()
+            + " bundled poms uniquely matches the file name");
+        return null;
+    }
+
+    private ArtifactCoordinates fromRepositoryPath(String entryName) {
+        // repository/org/example/my-lib/1.0.0/my-lib-1.0.0.jar
+        int start = entryName.indexOf(REPOSITORY_PREFIX);
+        if (start < 0) {
+            return null;
+        }
+        String[] segments = entryName.substring(start + REPOSITORY_PREFIX.length()).split("/");
+        if (segments.length < 4) {
+            return null;
+        }
+        String version = segments[segments.length - 2];
+        String artifactId = segments[segments.length - 3];
+        if (!segments[segments.length - 1].startsWith(artifactId + "-" + version)) {
+            return null;
+        }
+        String groupId = String.join(".", Arrays.copyOfRange(segments, 0, segments.length - 3));
+        return new ArtifactCoordinates(groupId, artifactId, version, null, "jar");
+    }
+
+    private Set<String> readDependencies(ArtifactCoordinates owner, byte[] pom) {
+        Set<String> dependencies = new HashSet<>();
+        if (pom == null) {
+            log.warn("No pom.xml bundled for " + owner + "; its dependencies are unknown");
+            incompleteArtifacts.add(owner);
+            return dependencies;
+        }
+
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            // Parse errors are reported through the exception below rather than on stderr
+            builder.setErrorHandler(new DefaultHandler());
+            Document document = builder.parse(new ByteArrayInputStream(pom));
+
+            Element parent = childElement(document.getDocumentElement(), "parent");
+            if (parent != null) {
+                inheritingArtifacts++;
+            }
+            String parentGroupId = parent != null ? childText(parent, "groupId") : null;
+
+            Element dependenciesElement = childElement(document.getDocumentElement(), "dependencies");
+            if (dependenciesElement == null) {
+                return dependencies;
+            }
+            NodeList children = dependenciesElement.getChildNodes();
+            for (int i = 0; i < children.getLength(); i++) {
+                Node node = children.item(i);
+                if (!(node instanceof Element) || !"dependency".equals(node.getNodeName())) {
+                    continue;
+                }
+                Element dependency = (Element) node;
+                String scope = childText(dependency, "scope");
+                if ("test".equals(scope) || "provided".equals(scope) || "system".equals(scope) ||
+                    "true".equals(childText(dependency, "optional"))) {
+                    continue;
+                }
+                String groupId = resolveGroupId(childText(dependency, "groupId"), owner, parentGroupId);
+                String artifactId = childText(dependency, "artifactId");
+                if (isUnresolved(groupId) || isUnresolved(artifactId)) {
+                    log.warn("Cannot resolve dependency " + groupId + ":" + artifactId + " of " + owner
+                        + " without its parent pom; its dependencies are only partially known");
+                    incompleteArtifacts.add(owner);
+                    continue;
+                }
+                dependencies.add(groupId + ":" + artifactId);
+            }
+        } catch (Exception e) {
+            log.warn("Could not read the pom of " + owner + "; its dependencies are unknown: " + e.getMessage());
+            incompleteArtifacts.add(owner);
+        }
+        return dependencies;
+    }
+
+    private static String resolveGroupId(String groupId, ArtifactCoordinates owner, String parentGroupId) {
+        if (groupId == null || "${project.groupId}".equals(groupId) || "${pom.groupId}".equals(groupId)
+            || "${groupId}".equals(groupId)) {
+            return owner.getGroupId();
+        }
+        if (parentGroupId != null && ("${project.parent.groupId}".equals(groupId)
+            || "${parent.groupId}".equals(groupId))) {
+            return parentGroupId;
+        }
+        return groupId;
+    }
+
+    private static boolean isUnresolved(String value) {
+        return value == null || value.contains("${");
+    }
+
+    private static Element childElement(Element parent, String name) {
+        NodeList children = parent.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            Node node = children.item(i);
+            if (node instanceof Element && name.equals(node.getNodeName())) {
+                return (Element) node;
+            }
+        }
+        return null;
+    }
+
+    private static String childText(Element parent, String name) {
+        Element child = childElement(parent, name);
+        return child != null ? child.getTextContent().trim() : null;
+    }
+}
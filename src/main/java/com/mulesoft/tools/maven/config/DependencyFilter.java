@@ -47,6 +47,32 @@ public class DependencyFilter {
         this.type = type;
     }
 
+    /**
+     * Matches the given coordinates against this filter. Unset fields and {@code *} match anything,
+     * other {@code *} characters act as wildcards.
+     */
+    public boolean matches(String groupId, String artifactId, String version, String type) {
+        return matchesPattern(groupId, this.groupId) &&
+               matchesPattern(artifactId, this.artifactId) &&
+               matchesPattern(version, this.version) &&
+               matchesPattern(type, this.type);
+    }
+
+    private static boolean matchesPattern(String value, String pattern) {
+        if (pattern == null || pattern.isEmpty() || "*".equals(pattern)) {
+            return true;
+        }
+
+        if (pattern.contains("*")) {
+            // Convert wildcard to regex
+            String regex = pattern.replace(".", "\\.")
+                                 .replace("*", ".*");
+            return value.matches(regex);
+        }
+
+        return value.equals(pattern);
+    }
+
     @Override
     public String toString() {
         return String.format("%s:%s:%s:%s:%s", 
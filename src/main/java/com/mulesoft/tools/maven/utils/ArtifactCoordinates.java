@@ -0,0 +1,102 @@
+package com.mulesoft.tools.maven.utils;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Maven-independent artifact coordinates, so that jar processing can run outside a Maven build.
+ */
+public final class ArtifactCoordinates {
+    private static final Set<String> SCOPES = new HashSet<>(
+        Arrays.asList("compile", "runtime", "provided", "test", "system", "import"));
+
+    private final String groupId;
+    private final String artifactId;
+    private final String version;
+    private final String classifier;
+    private final String type;
+
+    public ArtifactCoordinates(String groupId, String artifactId, String version, String classifier, String type) {
+        this.groupId = groupId;
+        this.artifactId = artifactId;
+        this.version = version;
+        this.classifier = classifier != null && classifier.isEmpty() ? null : classifier;
+        this.type = type != null ? type : "jar";
+    }
+
+    /**
+     * Parses coordinates in Aether notation, {@code groupId:artifactId[:type[:classifier]]:version},
+     * also accepting lines as printed by {@code mvn dependency:list} (trailing scope and module info).
+     */
+    public static ArtifactCoordinates parse(String coordinates) {
+        String value = coordinates.trim();
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("Invalid artifact coordinates: " + coordinates);
+        }
+        int space = value.indexOf(' ');
+        if (space > 0) {
+            value = value.substring(0, space);
+        }
+
+        String[] parts = value.split(":");
+        if (parts.length >= 4 && SCOPES.contains(parts[parts.length - 1])) {
+            parts = Arrays.copyOf(parts, parts.length - 1);
+        }
+
+        switch (parts.length) {
+            case 3:
+                return new ArtifactCoordinates(parts[0], parts[1], parts[2], null, "jar");
+            case 4:
+                return new ArtifactCoordinates(parts[0], parts[1], parts[3], null, parts[2]);
+            case 5:
+                return new ArtifactCoordinates(parts[0], parts[1], parts[4], parts[3], parts[2]);
+            default:
+                throw new IllegalArgumentException("Invalid artifact coordinates: " + coordinates
+                    + " (expected groupId:artifactId[:type[:classifier]]:version)");
+        }
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public String getArtifactId() {
+        return artifactId;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public String getClassifier() {
+        return classifier;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ArtifactCoordinates)) return false;
+        ArtifactCoordinates that = (ArtifactCoordinates) o;
+        return Objects.equals(groupId, that.groupId) &&
+               Objects.equals(artifactId, that.artifactId) &&
+               Objects.equals(version, that.version) &&
+               Objects.equals(classifier, that.classifier) &&
+               Objects.equals(type, that.type);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(groupId, artifactId, version, classifier, type);
+    }
+
+    @Override
+    public String toString() {
+        return groupId + ":" + artifactId + ":" + version;
+    }
+}
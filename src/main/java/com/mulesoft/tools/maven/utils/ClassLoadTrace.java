@@ -0,0 +1,86 @@
+package com.mulesoft.tools.maven.utils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the names of the classes loaded during a run from a class-loading trace. Supported formats:
+ * <ul>
+ *   <li>{@code -verbose:class} on JDK 8: {@code [Loaded com.example.Foo from file:/...]}</li>
+ *   <li>{@code -Xlog:class+load} / {@code -verbose:class} on JDK 9+: {@code [info][class,load] com.example.Foo source: ...}</li>
+ *   <li>{@code jfr print --events jdk.ClassLoad recording.jfr}: {@code loadedClass = com.example.Foo (classLoader = ...)};
+ *       the recording must enable {@code jdk.ClassLoad}, which the default JFR settings leave off</li>
+ *   <li>the bundled {@code ClassLoadTraceAgent}: one class name per line</li>
+ * </ul>
+ */
+public final class ClassLoadTrace {
+    private static final Pattern JDK8_VERBOSE = Pattern.compile("^\\[Loaded (\\S+) from .*\\]$");
+    private static final Pattern UNIFIED_LOGGING = Pattern.compile("\\[class,load\\s*\\]\\s+(\\S+) source:");
+    private static final Pattern JFR_PRINT = Pattern.compile("^loadedClass = (\\S+)");
+    private static final Pattern CLASS_NAME = Pattern.compile("^[\\p{L}_$][\\p{L}\\p{N}_$]*(\\.[\\p{L}_$][\\p{L}\\p{N}_$]*)*$");
+    private static final byte[] JFR_MAGIC = {'F', 'L', 'R', 0};
+
+    private ClassLoadTrace() {
+    }
+
+    public static Set<String> read(File trace) throws IOException {
+        if (isJfrRecording(trace)) {
+            throw new IOException("Binary JFR recordings are not read directly; convert " + trace
+                + " with 'jfr print --events jdk.ClassLoad " + trace.getName() + " > class-load.txt'."
+                + " jdk.ClassLoad is disabled in the default JFR settings, so the recording must enable it,"
+                + " e.g. -XX:StartFlightRecording:jdk.ClassLoad#enabled=true,filename=recording.jfr");
+        }
+
+        Set<String> loadedClasses = new HashSet<>();
+        try (BufferedReader reader = Files.newBufferedReader(trace.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String className = parseLine(line.trim());
+                if (className != null) {
+                    loadedClasses.add(className);
+                }
+            }
+        }
+        return loadedClasses;
+    }
+
+    private static String parseLine(String line) {
+        Matcher matcher = JDK8_VERBOSE.matcher(line);
+        if (matcher.find()) {
+            return matcher.group(1);
+        }
+        matcher = UNIFIED_LOGGING.matcher(line);
+        if (matcher.find()) {
+            return matcher.group(1);
+        }
+        matcher = JFR_PRINT.matcher(line);
+        if (matcher.find()) {
+            return matcher.group(1);
+        }
+        return CLASS_NAME.matcher(line).matches() ? line : null;
+    }
+
+    private static boolean isJfrRecording(File trace) throws IOException {
+        byte[] header = new byte[JFR_MAGIC.length];
+        try (InputStream inputStream = new FileInputStream(trace)) {
+            if (inputStream.read(header) != header.length) {
+                return false;
+            }
+        }
+        for (int i = 0; i < header.length; i++) {
+            if (header[i] != JFR_MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
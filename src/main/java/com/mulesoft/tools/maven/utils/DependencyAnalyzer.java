@@ -3,6 +3,7 @@ package com.mulesoft.tools.maven.utils;
 import com.mulesoft.tools.maven.config.DependencyFilter;
 import com.mulesoft.tools.maven.config.SlimmingConfiguration;
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.handler.ArtifactHandler;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
 import org.eclipse.aether.RepositorySystem;
@@ -16,7 +17,19 @@ import org.eclipse.aether.graph.DependencyNode;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.util.graph.visitor.PreorderNodeListGenerator;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 import java.util.stream.Collectors;
 
 public class DependencyAnalyzer {
@@ -26,150 +39,151 @@ public class DependencyAnalyzer {
     private final List<RemoteRepository> remoteRepositories;
     private final Log log;
     private final boolean verbose;
+    private final int collectionThreads;
 
+    // One collection per root GAV, shared by concurrent and later requests for the same root
+    private final ConcurrentMap<String, CompletableFuture<Set<Artifact>>> collections = new ConcurrentHashMap<>();
+    private Map<String, Artifact> projectArtifactsByKey;
+
+    /**
+     * @param collectionThreads maximum number of transitive dependency collections run concurrently
+     */
     public DependencyAnalyzer(MavenProject project, RepositorySystem repositorySystem,
                              RepositorySystemSession repositorySession,
-                             List<RemoteRepository> remoteRepositories, Log log, boolean verbose) {
+                             List<RemoteRepository> remoteRepositories, Log log, boolean verbose,
+                             int collectionThreads) {
         this.project = project;
         this.repositorySystem = repositorySystem;
         this.repositorySession = repositorySession;
         this.remoteRepositories = remoteRepositories;
         this.log = log;
         this.verbose = verbose;
+        this.collectionThreads = Math.max(1, collectionThreads);
     }
 
     public Set<Artifact> analyzeDependencies(SlimmingConfiguration config) throws DependencyCollectionException {
-        Set<Artifact> allDependencies = project.getArtifacts();
-        if (verbose) {
-            log.info("Analyzing " + allDependencies.size() + " project dependencies...");
-        }
-
-        boolean hasIncludes = !config.getIncludes().isEmpty();
-        boolean hasExcludes = !config.getExcludes().isEmpty();
-
-        if (hasIncludes && hasExcludes) {
-            if (verbose) log.info("Running in mixed-mode (includes and excludes).");
-            return analyzeMixedMode(config, allDependencies);
-        } else if (hasIncludes) {
-            if (verbose) log.info("Running in include-only mode.");
-            return analyzeIncludeOnlyMode(config, allDependencies);
-        } else if (hasExcludes) {
-            if (verbose) log.info("Running in exclude-only mode.");
-            return analyzeExcludeOnlyMode(config, allDependencies);
-        } else {
-            return Collections.emptySet();
-        }
+        return new ExclusionAnalyzer<Artifact>(new MavenSlimmingLog(log), verbose)
+            .analyze(new ProjectDependencyGraph(), config);
     }
 
-    private Set<Artifact> analyzeMixedMode(SlimmingConfiguration config, Set<Artifact> allDependencies) {
-        // Get all artifacts that would be excluded
-        Set<Artifact> directlyExcluded = getMatchingArtifacts(allDependencies, config.getExcludes());
-        if (verbose && !directlyExcluded.isEmpty()) {
-            log.info("Directly excluded artifacts: " + getArtifactKeys(directlyExcluded));
-        }
-        Set<Artifact> transitivelyExcluded = getAllTransitiveDependencies(directlyExcluded);
-        Set<Artifact> allToExclude = new HashSet<>(directlyExcluded);
-        allToExclude.addAll(transitivelyExcluded);
-
-        // Get all artifacts that must be included
-        Set<Artifact> directlyIncluded = getMatchingArtifacts(allDependencies, config.getIncludes());
-        if (verbose && !directlyIncluded.isEmpty()) {
-            log.info("Directly included artifacts: " + getArtifactKeys(directlyIncluded));
-        }
-        Set<Artifact> transitivelyIncluded = getAllTransitiveDependencies(directlyIncluded);
-        Set<Artifact> allToInclude = new HashSet<>(directlyIncluded);
-        allToInclude.addAll(transitivelyIncluded);
-        if (verbose && !allToInclude.isEmpty()) {
-            log.info("Including artifacts and their transitives: " + getArtifactKeys(allToInclude));
-        }
-
-        // Excludes are removed if they are part of an include set (inclusions take precedence)
-        allToExclude.removeAll(allToInclude);
-        if (verbose) {
-            log.info("Final exclusion set (mixed-mode): " + getArtifactKeys(allToExclude));
-        }
-        return allToExclude;
-    }
+    /**
+     * Finds the dependencies none of whose classes appear in a class-loading trace. Artifacts
+     * matching {@code keeps}, non-classpath artifacts (poms, zips), artifacts without a resolved
+     * file and artifacts that contain no classes (resource-only jars, whose use a trace cannot
+     * show) are never reported.
+     */
+    public Set<Artifact> findUnusedDependencies(Set<String> loadedClasses, List<DependencyFilter> keeps) {
+        Set<Artifact> unused = new HashSet<>();
+        for (Artifact artifact : project.getArtifacts()) {
+            if (isKept(artifact, keeps)) {
+                continue;
+            }
+            File file = artifact.getFile();
+            if (file == null || !file.isFile()) {
+                if (verbose) log.info("Keeping " + getArtifactKey(artifact) + ": no resolved file to inspect");
+                continue;
+            }
+            if (!isClasspathArtifact(artifact)) {
+                if (verbose) log.info("Keeping " + getArtifactKey(artifact) + ": not a classpath artifact");
+                continue;
+            }
 
-    private Set<Artifact> analyzeIncludeOnlyMode(SlimmingConfiguration config, Set<Artifact> allDependencies) {
-        Set<Artifact> directlyIncluded = getMatchingArtifacts(allDependencies, config.getIncludes());
-        if (verbose && !directlyIncluded.isEmpty()) {
-            log.info("Directly included artifacts: " + getArtifactKeys(directlyIncluded));
-        }
-        Set<Artifact> transitivelyIncluded = getAllTransitiveDependencies(directlyIncluded);
-        Set<Artifact> keeperSet = new HashSet<>(directlyIncluded);
-        keeperSet.addAll(transitivelyIncluded);
-        if (verbose && !keeperSet.isEmpty()) {
-            log.info("Keeping artifacts and their transitives: " + getArtifactKeys(keeperSet));
+            try {
+                Boolean loaded = containsLoadedClass(file, loadedClasses);
+                if (loaded == null) {
+                    if (verbose) log.info("Keeping " + getArtifactKey(artifact) + ": contains no classes");
+                } else if (!loaded) {
+                    unused.add(artifact);
+                }
+            } catch (IOException e) {
+                log.warn("Could not inspect " + getArtifactKey(artifact) + ", keeping it: " + e.getMessage());
+            }
         }
 
-        Set<Artifact> finalExclusions = new HashSet<>(allDependencies);
-        finalExclusions.removeAll(keeperSet);
         if (verbose) {
-            log.info("Final exclusion set (include-only): " + getArtifactKeys(finalExclusions));
+            log.info("Dependencies never loaded during trace: " + getArtifactKeys(unused));
         }
-        return finalExclusions;
+        return unused;
     }
 
-    private Set<Artifact> analyzeExcludeOnlyMode(SlimmingConfiguration config, Set<Artifact> allDependencies) {
-        Set<Artifact> directlyExcluded = getMatchingArtifacts(allDependencies, config.getExcludes());
-        if (verbose && !directlyExcluded.isEmpty()) {
-            log.info("Directly excluded artifacts: " + getArtifactKeys(directlyExcluded));
-        }
-        Set<Artifact> transitivelyExcluded = getAllTransitiveDependencies(directlyExcluded);
-        Set<Artifact> finalExclusions = new HashSet<>(directlyExcluded);
-        finalExclusions.addAll(transitivelyExcluded);
-        if (verbose) {
-            log.info("Final exclusion set (exclude-only): " + getArtifactKeys(finalExclusions));
+    /**
+     * Whether the artifact is resolved to something that goes on a classpath. Dependencies of
+     * type {@code pom}, {@code zip} and the like are resolved too, but are not class containers.
+     */
+    public static boolean isClasspathArtifact(Artifact artifact) {
+        File file = artifact.getFile();
+        if (file == null) {
+            return false;
         }
-        return finalExclusions;
+        ArtifactHandler handler = artifact.getArtifactHandler();
+        return (handler != null && handler.isAddedToClasspath()) || file.getName().endsWith(".jar");
     }
 
-    private Set<Artifact> getMatchingArtifacts(Set<Artifact> allDependencies, List<DependencyFilter> filters) {
-        Set<Artifact> matching = new HashSet<>();
-        for (Artifact artifact : allDependencies) {
-            for (DependencyFilter filter : filters) {
-                if (matchesFilter(artifact, filter)) {
-                    matching.add(artifact);
-                    break;
+    /**
+     * @return whether any class of the jar was loaded, or null if the jar has no classes
+     */
+    private Boolean containsLoadedClass(File jar, Set<String> loadedClasses) throws IOException {
+        boolean hasClasses = false;
+        try (JarFile jarFile = new JarFile(jar)) {
+            for (JarEntry entry : Collections.list(jarFile.entries())) {
+                String name = entry.getName();
+                if (!name.endsWith(".class") || name.endsWith("module-info.class") || name.startsWith("META-INF/")) {
+                    continue;
+                }
+                hasClasses = true;
+                String className = name.substring(0, name.length() - ".class".length()).replace('/', '.');
+                if (loadedClasses.contains(className)) {
+                    return true;
                 }
             }
         }
-        return matching;
+        return hasClasses ? false : null;
     }
 
-    private Set<Artifact> getAllTransitiveDependencies(Set<Artifact> rootArtifacts) {
-        Set<Artifact> allTransitives = new HashSet<>();
-        for (Artifact root : rootArtifacts) {
-            Set<Artifact> transitives = getTransitiveDependencies(root);
-            allTransitives.addAll(transitives);
-            if (verbose && !transitives.isEmpty()) {
-                log.info("Transitive dependencies for " + getArtifactKey(root) + ": " + getArtifactKeys(transitives));
+    private boolean isKept(Artifact artifact, List<DependencyFilter> keeps) {
+        for (DependencyFilter filter : keeps) {
+            if (matchesFilter(artifact, filter)) {
+                return true;
             }
         }
-        return allTransitives;
+        return false;
     }
 
-    private boolean matchesFilter(Artifact artifact, DependencyFilter filter) {
-        return matchesPattern(artifact.getGroupId(), filter.getGroupId()) &&
-               matchesPattern(artifact.getArtifactId(), filter.getArtifactId()) &&
-               matchesPattern(artifact.getVersion(), filter.getVersion()) &&
-               matchesPattern(artifact.getType(), filter.getType());
-    }
+    private Map<Artifact, Set<Artifact>> getAllTransitiveDependencies(Set<Artifact> rootArtifacts) {
 
-    private boolean matchesPattern(String value, String pattern) {
-        if (pattern == null || pattern.isEmpty() || "*".equals(pattern)) {
-            return true;
+        // Fan collection out over a bounded pool; each call is dominated by descriptor reads
+        int threads = Math.min(collectionThreads, rootArtifacts.size());
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new CollectorThreadFactory());
+        try {
+            Map<Artifact, CompletableFuture<Set<Artifact>>> pending = new LinkedHashMap<>();
+            for (Artifact root : rootArtifacts) {
+                pending.put(root, collections.computeIfAbsent(getArtifactKey(root),
+                    key -> CompletableFuture.supplyAsync(() -> getTransitiveDependencies(root), executor)));
+            }
+
+            Map<Artifact, Set<Artifact>> allTransitives = new LinkedHashMap<>();
+            for (Map.Entry<Artifact, CompletableFuture<Set<Artifact>>> entry : pending.entrySet()) {
+                allTransitives.put(entry.getKey(), join(entry.getValue()));
+            }
+            return allTransitives;
+        } finally {
+            executor.shutdown();
         }
+    }
 
-        if (pattern.contains("*")) {
-            // Convert wildcard to regex
-            String regex = pattern.replace(".", "\\.")
-                                 .replace("*", ".*");
-            return value.matches(regex);
+    private static Set<Artifact> join(CompletableFuture<Set<Artifact>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
         }
+    }
 
-        return value.equals(pattern);
+    private boolean matchesFilter(Artifact artifact, DependencyFilter filter) {
+        return filter.matches(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion(), artifact.getType());
     }
 
     private Set<Artifact> getTransitiveDependencies(Artifact rootArtifact) {
@@ -193,17 +207,14 @@ public class DependencyAnalyzer {
             PreorderNodeListGenerator nlg = new PreorderNodeListGenerator();
             collectResult.getRoot().accept(nlg);
             
+            Map<String, Artifact> projectArtifacts = getProjectArtifactsByKey();
             for (DependencyNode node : nlg.getNodes()) {
                 if (node.getDependency() != null && node != collectResult.getRoot()) {
                     org.eclipse.aether.artifact.Artifact dep = node.getDependency().getArtifact();
-                    
-                    for (Artifact projectArtifact : project.getArtifacts()) {
-                        if (projectArtifact.getGroupId().equals(dep.getGroupId()) &&
-                            projectArtifact.getArtifactId().equals(dep.getArtifactId()) &&
-                            projectArtifact.getVersion().equals(dep.getVersion())) {
-                            transitives.add(projectArtifact);
-                            break;
-                        }
+                    Artifact projectArtifact = projectArtifacts.get(
+                        dep.getGroupId() + ":" + dep.getArtifactId() + ":" + dep.getVersion());
+                    if (projectArtifact != null) {
+                        transitives.add(projectArtifact);
                     }
                 }
             }
@@ -215,6 +226,18 @@ public class DependencyAnalyzer {
         return transitives;
     }
 
+    private synchronized Map<String, Artifact> getProjectArtifactsByKey() {
+        if (projectArtifactsByKey == null) {
+            Map<String, Artifact> byKey = new HashMap<>();
+            for (Artifact projectArtifact : project.getArtifacts()) {
+                // Keep the first match, as the previous linear scan did
+                byKey.putIfAbsent(getArtifactKey(projectArtifact), projectArtifact);
+            }
+            projectArtifactsByKey = byKey;
+        }
+        return projectArtifactsByKey;
+    }
+
     private String getArtifactKey(Artifact artifact) {
         return artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getVersion();
     }
@@ -225,4 +248,37 @@ public class DependencyAnalyzer {
         }
         return artifacts.stream().map(this::getArtifactKey).collect(Collectors.joining(", "));
     }
+
+    private class ProjectDependencyGraph implements DependencyGraph<Artifact> {
+        @Override
+        public Set<Artifact> getDependencies() {
+            return project.getArtifacts();
+        }
+
+        @Override
+        public boolean matches(Artifact artifact, DependencyFilter filter) {
+            return matchesFilter(artifact, filter);
+        }
+
+        @Override
+        public Map<Artifact, Set<Artifact>> getTransitiveDependencies(Set<Artifact> roots) {
+            return getAllTransitiveDependencies(roots);
+        }
+
+        @Override
+        public String getKey(Artifact artifact) {
+            return getArtifactKey(artifact);
+        }
+    }
+
+    private static class CollectorThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "dependency-slimmer-collector-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
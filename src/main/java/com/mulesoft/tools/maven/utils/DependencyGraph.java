@@ -0,0 +1,28 @@
+package com.mulesoft.tools.maven.utils;
+
+import com.mulesoft.tools.maven.config.DependencyFilter;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The dependencies of an application and how to resolve their transitives, as seen by
+ * {@link ExclusionAnalyzer}. Implemented over Aether inside the mojo and over the poms bundled in
+ * nested jars by the batch engine.
+ */
+public interface DependencyGraph<T> {
+
+    Set<T> getDependencies();
+
+    boolean matches(T artifact, DependencyFilter filter);
+
+    /**
+     * @return the transitive dependencies of every root, limited to {@link #getDependencies()}
+     */
+    Map<T, Set<T>> getTransitiveDependencies(Set<T> roots);
+
+    /**
+     * @return the {@code groupId:artifactId:version} key used in reports
+     */
+    String getKey(T artifact);
+}
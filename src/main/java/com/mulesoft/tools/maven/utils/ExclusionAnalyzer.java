@@ -0,0 +1,147 @@
+package com.mulesoft.tools.maven.utils;
+
+import com.mulesoft.tools.maven.config.DependencyFilter;
+import com.mulesoft.tools.maven.config.SlimmingConfiguration;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Computes the exclusion set from the include and exclude filters. Inclusions take precedence in
+ * mixed mode, and every matched artifact brings its transitive dependencies along. Shared by the
+ * mojo and the batch engine so both produce the same result and report.
+ */
+public class ExclusionAnalyzer<T> {
+    private final SlimmingLog log;
+    private final boolean verbose;
+
+    public ExclusionAnalyzer(SlimmingLog log, boolean verbose) {
+        this.log = log;
+        this.verbose = verbose;
+    }
+
+    public Set<T> analyze(DependencyGraph<T> graph, SlimmingConfiguration config) {
+        Set<T> allDependencies = graph.getDependencies();
+        if (verbose) {
+            log.info("Analyzing " + allDependencies.size() + " project dependencies...");
+        }
+
+        boolean hasIncludes = !config.getIncludes().isEmpty();
+        boolean hasExcludes = !config.getExcludes().isEmpty();
+
+        if (hasIncludes && hasExcludes) {
+            if (verbose) log.info("Running in mixed-mode (includes and excludes).");
+            return analyzeMixedMode(graph, config, allDependencies);
+        } else if (hasIncludes) {
+            if (verbose) log.info("Running in include-only mode.");
+            return analyzeIncludeOnlyMode(graph, config, allDependencies);
+        } else if (hasExcludes) {
+            if (verbose) log.info("Running in exclude-only mode.");
+            return analyzeExcludeOnlyMode(graph, config, allDependencies);
+        } else {
+            return new HashSet<>();
+        }
+    }
+
+    private Set<T> analyzeMixedMode(DependencyGraph<T> graph, SlimmingConfiguration config, Set<T> allDependencies) {
+        // Get all artifacts that would be excluded
+        Set<T> directlyExcluded = getMatchingArtifacts(graph, allDependencies, config.getExcludes());
+        if (verbose && !directlyExcluded.isEmpty()) {
+            log.info("Directly excluded artifacts: " + getArtifactKeys(graph, directlyExcluded));
+        }
+        Set<T> transitivelyExcluded = getAllTransitiveDependencies(graph, directlyExcluded);
+        Set<T> allToExclude = new HashSet<>(directlyExcluded);
+        allToExclude.addAll(transitivelyExcluded);
+
+        // Get all artifacts that must be included
+        Set<T> directlyIncluded = getMatchingArtifacts(graph, allDependencies, config.getIncludes());
+        if (verbose && !directlyIncluded.isEmpty()) {
+            log.info("Directly included artifacts: " + getArtifactKeys(graph, directlyIncluded));
+        }
+        Set<T> transitivelyIncluded = getAllTransitiveDependencies(graph, directlyIncluded);
+        Set<T> allToInclude = new HashSet<>(directlyIncluded);
+        allToInclude.addAll(transitivelyIncluded);
+        if (verbose && !allToInclude.isEmpty()) {
+            log.info("Including artifacts and their transitives: " + getArtifactKeys(graph, allToInclude));
+        }
+
+        // Excludes are removed if they are part of an include set (inclusions take precedence)
+        allToExclude.removeAll(allToInclude);
+        if (verbose) {
+            log.info("Final exclusion set (mixed-mode): " + getArtifactKeys(graph, allToExclude));
+        }
+        return allToExclude;
+    }
+
+    private Set<T> analyzeIncludeOnlyMode(DependencyGraph<T> graph, SlimmingConfiguration config, Set<T> allDependencies) {
+        Set<T> directlyIncluded = getMatchingArtifacts(graph, allDependencies, config.getIncludes());
+        if (verbose && !directlyIncluded.isEmpty()) {
+            log.info("Directly included artifacts: " + getArtifactKeys(graph, directlyIncluded));
+        }
+        Set<T> transitivelyIncluded = getAllTransitiveDependencies(graph, directlyIncluded);
+        Set<T> keeperSet = new HashSet<>(directlyIncluded);
+        keeperSet.addAll(transitivelyIncluded);
+        if (verbose && !keeperSet.isEmpty()) {
+            log.info("Keeping artifacts and their transitives: " + getArtifactKeys(graph, keeperSet));
+        }
+
+        Set<T> finalExclusions = new HashSet<>(allDependencies);
+        finalExclusions.removeAll(keeperSet);
+        if (verbose) {
+            log.info("Final exclusion set (include-only): " + getArtifactKeys(graph, finalExclusions));
+        }
+        return finalExclusions;
+    }
+
+    private Set<T> analyzeExcludeOnlyMode(DependencyGraph<T> graph, SlimmingConfiguration config, Set<T> allDependencies) {
+        Set<T> directlyExcluded = getMatchingArtifacts(graph, allDependencies, config.getExcludes());
+        if (verbose && !directlyExcluded.isEmpty()) {
+            log.info("Directly excluded artifacts: " + getArtifactKeys(graph, directlyExcluded));
+        }
+        Set<T> transitivelyExcluded = getAllTransitiveDependencies(graph, directlyExcluded);
+        Set<T> finalExclusions = new HashSet<>(directlyExcluded);
+        finalExclusions.addAll(transitivelyExcluded);
+        if (verbose) {
+            log.info("Final exclusion set (exclude-only): " + getArtifactKeys(graph, finalExclusions));
+        }
+        return finalExclusions;
+    }
+
+    private Set<T> getMatchingArtifacts(DependencyGraph<T> graph, Set<T> allDependencies, List<DependencyFilter> filters) {
+        Set<T> matching = new HashSet<>();
+        for (T artifact : allDependencies) {
+            for (DependencyFilter filter : filters) {
+                if (graph.matches(artifact, filter)) {
+                    matching.add(artifact);
+                    break;
+                }
+            }
+        }
+        return matching;
+    }
+
+    private Set<T> getAllTransitiveDependencies(DependencyGraph<T> graph, Set<T> rootArtifacts) {
+        Set<T> allTransitives = new HashSet<>();
+        if (rootArtifacts.isEmpty()) {
+            return allTransitives;
+        }
+        for (Map.Entry<T, Set<T>> entry : graph.getTransitiveDependencies(rootArtifacts).entrySet()) {
+            Set<T> transitives = entry.getValue();
+            allTransitives.addAll(transitives);
+            if (verbose && !transitives.isEmpty()) {
+                log.info("Transitive dependencies for " + graph.getKey(entry.getKey()) + ": " + getArtifactKeys(graph, transitives));
+            }
+        }
+        return allTransitives;
+    }
+
+    private String getArtifactKeys(DependencyGraph<T> graph, Set<T> artifacts) {
+        if (artifacts == null || artifacts.isEmpty()) {
+            return "[]";
+        }
+        return artifacts.stream().map(graph::getKey).collect(Collectors.joining(", "));
+    }
+}
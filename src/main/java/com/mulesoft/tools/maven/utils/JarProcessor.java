@@ -1,26 +1,77 @@
 package com.mulesoft.tools.maven.utils;
 
 import org.apache.commons.io.IOUtils;
-import org.apache.maven.artifact.Artifact;
-import org.apache.maven.plugin.logging.Log;
 
 import java.io.*;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
 
 public class JarProcessor {
-    private final Log log;
+    // Earliest instant that survives the zip DOS time encoding in every time zone
+    public static final long DEFAULT_OUTPUT_TIMESTAMP = Instant.parse("1980-01-02T00:00:00Z").toEpochMilli();
+
+    private static final String MANIFEST_DIR = "META-INF/";
+    private static final String MANIFEST_NAME = "META-INF/MANIFEST.MF";
+
+    // Extra field headers carrying per-entry timestamps (extended timestamp and NTFS)
+    private static final int EXTENDED_TIMESTAMP_TAG = 0x5455;
+    private static final int NTFS_TAG = 0x000a;
+
+    // ZipEntry.setTimeLocal (Java 9+) writes the DOS date and time fields as given, which is the
+    // only way to store a wall-clock time that falls into a DST gap of the default time zone
+    private static final Method SET_TIME_LOCAL = findSetTimeLocal();
+
+    private final SlimmingLog log;
     private final boolean verbose;
+    private final Long outputTimestamp;
 
-    public JarProcessor(Log log, boolean verbose) {
+    /**
+     * @param outputTimestamp if not null, the jar is written reproducibly: entries are sorted,
+     *                        every entry gets this modification time (epoch millis) and
+     *                        timestamp extra fields are dropped, so identical inputs yield
+     *                        byte-identical output.
+     */
+    public JarProcessor(SlimmingLog log, boolean verbose, Long outputTimestamp) {
         this.log = log;
         this.verbose = verbose;
+        this.outputTimestamp = outputTimestamp;
     }
 
-    public void processJar(File artifact, Set<Artifact> excludedArtifacts) throws IOException {
+    /**
+     * Slims the artifact in place, or only reports what would be removed when {@code dryRun} is set.
+     * This is the single entry point shared by the mojo and the batch engine so both produce the
+     * same report.
+     */
+    public void slim(File artifact, Set<ArtifactCoordinates> excludedArtifacts, boolean dryRun) throws IOException {
+        long originalSize = artifact.length();
+
+        if (dryRun) {
+            log.info("DRY RUN: Would process " + artifact.getName());
+            analyzeDependencies(artifact, excludedArtifacts);
+        } else {
+            processJar(artifact, excludedArtifacts);
+            long newSize = artifact.length();
+            long saved = originalSize - newSize;
+
+            log.info(String.format("Slimming complete! Reduced size by %s (%.1f%% reduction)",
+                formatBytes(saved), (saved * 100.0 / originalSize)));
+        }
+    }
+
+    public void processJar(File artifact, Set<ArtifactCoordinates> excludedArtifacts) throws IOException {
         File tempFile = new File(artifact.getParentFile(), "temp-" + artifact.getName());
         
         try (JarFile sourceJar = new JarFile(artifact);
@@ -31,7 +82,7 @@ public class JarProcessor {
             long totalSize = 0;
             long excludedSize = 0;
 
-            for (JarEntry entry : java.util.Collections.list(sourceJar.entries())) {
+            for (JarEntry entry : getOrderedEntries(sourceJar)) {
                 try {
                     totalEntries++;
                     totalSize += entry.getSize();
@@ -47,7 +98,7 @@ public class JarProcessor {
 
                     // Copy entry to new jar
                     try (InputStream inputStream = sourceJar.getInputStream(entry)) {
-                        destJar.putNextEntry(new JarEntry(entry.getName()));
+                        destJar.putNextEntry(copyEntry(entry));
                         IOUtils.copy(inputStream, destJar);
                         destJar.closeEntry();
                     }
@@ -70,7 +121,127 @@ public class JarProcessor {
         }
     }
 
-    public void analyzeDependencies(File artifact, Set<Artifact> excludedArtifacts) throws IOException {
+    /**
+     * Parses an output timestamp following the maven-archiver convention: a numeric value is
+     * seconds since the epoch, anything else is ISO-8601. Returns epoch millis, clamped to
+     * {@link #DEFAULT_OUTPUT_TIMESTAMP}.
+     */
+    public static long parseOutputTimestamp(String value) {
+        String trimmed = value.trim();
+        Instant instant;
+        try {
+            if (trimmed.chars().allMatch(Character::isDigit)) {
+                instant = Instant.ofEpochSecond(Long.parseLong(trimmed));
+            } else {
+                instant = OffsetDateTime.parse(trimmed).toInstant();
+            }
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid output timestamp: " + trimmed, e);
+        }
+        return Math.max(instant.toEpochMilli(), DEFAULT_OUTPUT_TIMESTAMP);
+    }
+
+    private List<JarEntry> getOrderedEntries(JarFile sourceJar) {
+        List<JarEntry> entries = java.util.Collections.list(sourceJar.entries());
+        if (outputTimestamp != null) {
+            // Keep the manifest up front where JarInputStream expects it, sort everything else
+            entries.sort((a, b) -> {
+                int rankA = manifestRank(a.getName());
+                int rankB = manifestRank(b.getName());
+                return rankA != rankB ? Integer.compare(rankA, rankB) : a.getName().compareTo(b.getName());
+            });
+        }
+        return entries;
+    }
+
+    private int manifestRank(String entryName) {
+        if (entryName.equals(MANIFEST_DIR)) return 0;
+        if (entryName.equals(MANIFEST_NAME)) return 1;
+        return 2;
+    }
+
+    private JarEntry copyEntry(JarEntry source) {
+        JarEntry target = new JarEntry(source.getName());
+
+        // Nested jars are usually STORED (Spring Boot requires it), so keep the original method
+        if (source.getMethod() == ZipEntry.STORED) {
+            target.setMethod(ZipEntry.STORED);
+            target.setSize(source.getSize());
+            target.setCompressedSize(source.getSize());
+            target.setCrc(source.getCrc());
+        } else {
+            target.setMethod(ZipEntry.DEFLATED);
+        }
+        if (source.getComment() != null) {
+            target.setComment(source.getComment());
+        }
+
+        if (outputTimestamp != null) {
+            byte[] extra = stripTimestampFields(source.getExtra());
+            if (extra != null) {
+                target.setExtra(extra);
+            }
+            setDosTime(target, outputTimestamp);
+        } else {
+            if (source.getExtra() != null) {
+                target.setExtra(source.getExtra());
+            }
+            if (source.getTime() != -1) {
+                target.setTime(source.getTime());
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Zip entries store their time as local DOS date and time fields. Use the UTC wall-clock
+     * fields of the instant so the written bytes do not depend on the time zone of the build.
+     */
+    private static void setDosTime(ZipEntry entry, long epochMillis) {
+        LocalDateTime utcFields = LocalDateTime.ofEpochSecond(
+            Math.floorDiv(epochMillis, 1000L), 0, ZoneOffset.UTC);
+        if (SET_TIME_LOCAL != null) {
+            try {
+                SET_TIME_LOCAL.invoke(entry, utcFields);
+                return;
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                // Fall back to the instant based conversion below
+            }
+        }
+        // On Java 8 a wall-clock time inside a DST gap of the default zone cannot be expressed
+        // and is moved forward by the length of the gap
+        entry.setTime(utcFields.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private static Method findSetTimeLocal() {
+        try {
+            return ZipEntry.class.getMethod("setTimeLocal", LocalDateTime.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static byte[] stripTimestampFields(byte[] extra) {
+        if (extra == null || extra.length == 0) {
+            return null;
+        }
+        ByteArrayOutputStream kept = new ByteArrayOutputStream(extra.length);
+        int offset = 0;
+        while (offset + 4 <= extra.length) {
+            int tag = (extra[offset] & 0xff) | ((extra[offset + 1] & 0xff) << 8);
+            int size = (extra[offset + 2] & 0xff) | ((extra[offset + 3] & 0xff) << 8);
+            if (offset + 4 + size > extra.length) {
+                break;
+            }
+            if (tag != EXTENDED_TIMESTAMP_TAG && tag != NTFS_TAG) {
+                kept.write(extra, offset, 4 + size);
+            }
+            offset += 4 + size;
+        }
+        return kept.size() > 0 ? kept.toByteArray() : null;
+    }
+
+    public void analyzeDependencies(File artifact, Set<ArtifactCoordinates> excludedArtifacts) throws IOException {
         Set<String> includedDeps = new HashSet<>();
         Set<String> excludedDeps = new HashSet<>();
         long totalSize = 0;
@@ -101,7 +272,7 @@ public class JarProcessor {
         excludedDeps.stream().sorted().forEach(dep -> log.info("  - " + dep));
     }
 
-    private boolean shouldSkipEntry(JarEntry entry, Set<Artifact> excludedArtifacts) {
+    private boolean shouldSkipEntry(JarEntry entry, Set<ArtifactCoordinates> excludedArtifacts) {
         String entryName = entry.getName();
         
         // Always preserve manifest and critical files
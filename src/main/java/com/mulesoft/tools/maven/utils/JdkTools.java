@@ -0,0 +1,125 @@
+package com.mulesoft.tools.maven.utils;
+
+import org.apache.commons.io.IOUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Launches executables of a JDK installation ({@code jdeps}, {@code jlink}, {@code java}) as
+ * external processes, so the plugin itself can keep running on Java 8.
+ */
+public final class JdkTools {
+
+    private JdkTools() {
+    }
+
+    /**
+     * Finds a JDK executable. {@code java.home} of a JDK 8 points at its embedded JRE, so the
+     * parent directory is searched as well.
+     */
+    public static File findTool(File jdkHome, String tool) throws IOException {
+        String executable = System.getProperty("os.name").toLowerCase().startsWith("windows") ? tool + ".exe" : tool;
+        File candidate = new File(new File(jdkHome, "bin"), executable);
+        if (candidate.isFile()) {
+            return candidate;
+        }
+        File parent = jdkHome.getParentFile();
+        if (parent != null) {
+            candidate = new File(new File(parent, "bin"), executable);
+            if (candidate.isFile()) {
+                return candidate;
+            }
+        }
+        throw new IOException("Could not find '" + tool + "' in JDK " + jdkHome);
+    }
+
+    /**
+     * Runs a JDK tool and returns its standard output.
+     */
+    public static String run(File jdkHome, String tool, List<String> args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(findTool(jdkHome, tool).getAbsolutePath());
+        command.addAll(args);
+        return execute(command, null);
+    }
+
+    /**
+     * Runs the main class of a JDK tool module through the {@code java} launcher, passing the
+     * arguments in an {@code @argfile}. Tools such as {@code jdeps} do not expand argument files
+     * themselves, and a long classpath would otherwise exceed the Windows command line limit.
+     *
+     * @param mainClass the tool entry point as {@code module/class}
+     */
+    public static String runModule(File jdkHome, String mainClass, List<String> args) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(quote("-m"));
+        lines.add(quote(mainClass));
+        for (String arg : args) {
+            lines.add(quote(arg));
+        }
+
+        File argFile = File.createTempFile("jdk-tool-", ".args");
+        try {
+            Files.write(argFile.toPath(), lines, Charset.defaultCharset());
+            return execute(Arrays.asList(findTool(jdkHome, "java").getAbsolutePath(),
+                "@" + argFile.getAbsolutePath()), null);
+        } finally {
+            Files.deleteIfExists(argFile.toPath());
+        }
+    }
+
+    // Argument files treat backslashes inside quotes as escapes, which Windows paths are full of
+    private static String quote(String arg) {
+        return '"' + arg.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
+    /**
+     * Runs a command to completion and returns its standard output. Standard error is collected
+     * separately, so tool warnings never mix with the output callers parse; it is only reported
+     * when the command fails.
+     *
+     * @throws IOException if the command exits with a non-zero status
+     */
+    public static String execute(List<String> command, File workingDirectory) throws IOException {
+        ProcessBuilder builder = new ProcessBuilder(command);
+        if (workingDirectory != null) {
+            builder.directory(workingDirectory);
+        }
+        Process process = builder.start();
+
+        // Drain stderr concurrently so a full pipe cannot block the process
+        ByteArrayOutputStream errorOutput = new ByteArrayOutputStream();
+        Thread errorReader = new Thread(() -> {
+            try (InputStream error = process.getErrorStream()) {
+                IOUtils.copy(error, errorOutput);
+            } catch (IOException e) {
+                // Only used for diagnostics
+            }
+        }, "jdk-tool-stderr");
+        errorReader.setDaemon(true);
+        errorReader.start();
+
+        try (InputStream output = process.getInputStream()) {
+            String text = IOUtils.toString(output, Charset.defaultCharset());
+            int exitCode = process.waitFor();
+            errorReader.join();
+            if (exitCode != 0) {
+                throw new IOException(command.get(0) + " exited with status " + exitCode + ":\n"
+                    + new String(errorOutput.toByteArray(), Charset.defaultCharset()) + text);
+            }
+            return text;
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running " + command.get(0), e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.mulesoft.tools.maven.utils;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Bridges the engine's {@link SlimmingLog} to a mojo's Maven {@link Log}.
+ */
+public class MavenSlimmingLog implements SlimmingLog {
+    private final Log log;
+
+    public MavenSlimmingLog(Log log) {
+        this.log = log;
+    }
+
+    @Override
+    public void info(String message) {
+        log.info(message);
+    }
+
+    @Override
+    public void warn(String message) {
+        log.warn(message);
+    }
+
+    @Override
+    public void error(String message, Throwable error) {
+        log.error(message, error);
+    }
+}
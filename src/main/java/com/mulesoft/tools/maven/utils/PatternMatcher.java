@@ -1,14 +1,12 @@
 package com.mulesoft.tools.maven.utils;
 
-import org.apache.maven.artifact.Artifact;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Set;
-import java.util.regex.Pattern;
 
 public class PatternMatcher {
     
-    public static boolean shouldExclude(String jarEntryPath, Set<Artifact> excludedArtifacts) {
+    public static boolean shouldExclude(String jarEntryPath, Set<ArtifactCoordinates> excludedArtifacts) {
         if (excludedArtifacts == null || excludedArtifacts.isEmpty()) {
             return false;
         }
@@ -17,7 +15,7 @@ public class PatternMatcher {
         String artifactInfo = extractArtifactInfo(jarEntryPath);
         
         // Check if this entry belongs to any excluded artifact
-        for (Artifact excludedArtifact : excludedArtifacts) {
+        for (ArtifactCoordinates excludedArtifact : excludedArtifacts) {
             if (belongsToArtifact(artifactInfo, excludedArtifact)) {
                 return true;
             }
@@ -43,7 +41,7 @@ public class PatternMatcher {
         return jarEntryPath;
     }
 
-    private static boolean belongsToArtifact(String jarFileName, Artifact artifact) {
+    private static boolean belongsToArtifact(String jarFileName, ArtifactCoordinates artifact) {
         if (StringUtils.isEmpty(jarFileName)) {
             return false;
         }
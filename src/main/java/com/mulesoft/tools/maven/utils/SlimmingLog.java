@@ -0,0 +1,14 @@
+package com.mulesoft.tools.maven.utils;
+
+/**
+ * Minimal logging contract for the slimming engine. Kept free of Maven types so the engine can
+ * run from the command line as well as inside a mojo.
+ */
+public interface SlimmingLog {
+
+    void info(String message);
+
+    void warn(String message);
+
+    void error(String message, Throwable error);
+}
@@ -0,0 +1,109 @@
+package com.mulesoft.tools.maven.utils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.TimeZone;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class JarProcessorTest {
+    private static final String[] ZONES = {"UTC", "America/New_York", "Europe/Berlin", "Asia/Tokyo"};
+
+    // Instants whose UTC wall-clock time falls into a DST gap in New York or Berlin
+    private static final String[] TIMESTAMPS = {
+        "2024-03-10T02:30:00Z", "2024-03-10T05:30:00Z", "2024-03-31T01:30:00Z", "2024-03-31T02:30:00Z"
+    };
+
+    private static final SlimmingLog SILENT_LOG = new SlimmingLog() {
+        @Override
+        public void info(String message) {
+        }
+
+        @Override
+        public void warn(String message) {
+        }
+
+        @Override
+        public void error(String message, Throwable error) {
+        }
+    };
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void reproducibleOutputDoesNotDependOnTimeZone() throws IOException {
+        TimeZone original = TimeZone.getDefault();
+        try {
+            for (String timestamp : TIMESTAMPS) {
+                long outputTimestamp = JarProcessor.parseOutputTimestamp(timestamp);
+                byte[] expected = null;
+                for (String zone : ZONES) {
+                    TimeZone.setDefault(TimeZone.getTimeZone(zone));
+                    byte[] actual = slim(outputTimestamp);
+                    if (expected == null) {
+                        expected = actual;
+                    } else {
+                        assertArrayEquals("Output for " + timestamp + " differs in " + zone, expected, actual);
+                    }
+                }
+            }
+        } finally {
+            TimeZone.setDefault(original);
+        }
+    }
+
+    @Test
+    public void entriesCarryTheUtcWallClockTime() throws IOException {
+        TimeZone original = TimeZone.getDefault();
+        try {
+            for (String timestamp : TIMESTAMPS) {
+                long outputTimestamp = Instant.parse(timestamp).toEpochMilli();
+                TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+                File jar = createJar();
+                new JarProcessor(SILENT_LOG, false, outputTimestamp).processJar(jar, Collections.emptySet());
+
+                TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+                try (JarFile result = new JarFile(jar)) {
+                    for (JarEntry entry : Collections.list(result.entries())) {
+                        assertEquals(timestamp + " " + entry.getName(), outputTimestamp, entry.getTime());
+                    }
+                }
+            }
+        } finally {
+            TimeZone.setDefault(original);
+        }
+    }
+
+    private byte[] slim(long outputTimestamp) throws IOException {
+        File jar = createJar();
+        new JarProcessor(SILENT_LOG, false, outputTimestamp).processJar(jar, Collections.emptySet());
+        return Files.readAllBytes(jar.toPath());
+    }
+
+    private File createJar() throws IOException {
+        File jar = temporaryFolder.newFile();
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().putValue("Manifest-Version", "1.0");
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar), manifest)) {
+            out.putNextEntry(new JarEntry("com/example/Hello.txt"));
+            out.write("hello".getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+        return jar;
+    }
+}